@@ -10,11 +10,13 @@ public class Constants {
      */
     public static final String EDGES = "edges";
     public static final String EDGE_INDICES = "edgeIndices";
+    public static final String EDGE_GLOBAL_INDICES = "edgeGlobalIndices";
     public static final String VERTICES = "vertices";
     public static final String VERTEX_INDICES = "vertexIndices";
     public static final String INDEX_METADATA = "indexMetadata";
     public static final String LABEL_METADATA = "labelMetadata";
     public static final String LABEL_CONNECTIONS = "labelConnections";
+    public static final String PROPERTY_KEYS = "propertyKeys";
 
     /**
      * Default column family
@@ -31,10 +33,15 @@ public class Constants {
     public static final String CREATED_AT = Graph.Hidden.hide("c");
     public static final String UPDATED_AT = Graph.Hidden.hide("u");
     public static final String UNIQUE = Graph.Hidden.hide("q");
+    public static final String GLOBAL = Graph.Hidden.hide("g");
     public static final String ELEMENT_ID = Graph.Hidden.hide("i");
     public static final String EDGE_ID = Graph.Hidden.hide("e");
     public static final String VERTEX_ID = Graph.Hidden.hide("v");
     public static final String INDEX_STATE = Graph.Hidden.hide("x");
+    public static final String INDEX_PROGRESS = Graph.Hidden.hide("p");
+    public static final String PURGE_PROGRESS = Graph.Hidden.hide("d");
+    public static final String PROPERTY_KEY = Graph.Hidden.hide("k");
+    public static final String GRAPH_METADATA = Graph.Hidden.hide("graph");
 
     public static final byte[] LABEL_BYTES = Bytes.toBytes(LABEL);
     public static final byte[] FROM_BYTES = Bytes.toBytes(FROM);
@@ -42,8 +49,13 @@ public class Constants {
     public static final byte[] CREATED_AT_BYTES = Bytes.toBytes(CREATED_AT);
     public static final byte[] UPDATED_AT_BYTES = Bytes.toBytes(UPDATED_AT);
     public static final byte[] UNIQUE_BYTES = Bytes.toBytes(UNIQUE);
+    public static final byte[] GLOBAL_BYTES = Bytes.toBytes(GLOBAL);
     public static final byte[] ELEMENT_ID_BYTES = Bytes.toBytes(ELEMENT_ID);
     public static final byte[] EDGE_ID_BYTES = Bytes.toBytes(EDGE_ID);
     public static final byte[] VERTEX_ID_BYTES = Bytes.toBytes(VERTEX_ID);
     public static final byte[] INDEX_STATE_BYTES = Bytes.toBytes(INDEX_STATE);
+    public static final byte[] INDEX_PROGRESS_BYTES = Bytes.toBytes(INDEX_PROGRESS);
+    public static final byte[] PURGE_PROGRESS_BYTES = Bytes.toBytes(PURGE_PROGRESS);
+    public static final byte[] PROPERTY_KEY_BYTES = Bytes.toBytes(PROPERTY_KEY);
+    public static final byte[] GRAPH_METADATA_BYTES = Bytes.toBytes(GRAPH_METADATA);
 }
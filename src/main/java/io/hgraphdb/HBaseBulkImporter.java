@@ -0,0 +1,332 @@
+package io.hgraphdb;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONReader;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Streams vertices and edges from GraphSON, Gryo or CSV input into a bulk loader.  Elements are read
+ * one at a time on the caller's thread while the loader builds and sends the mutations, so memory
+ * stays bounded regardless of the size of the input.
+ *
+ * A vertex CSV file has a header row naming the columns: "~id" for the vertex id, "~label" for the
+ * label, and property keys for the rest.  An edge CSV file has "~outV" and "~inV" columns for the
+ * ids of the vertices, and optionally "~id" and "~label".  Empty cells are skipped.  If schema
+ * management is enabled, cells are converted to the types of the label metadata; otherwise they
+ * are loaded as strings.
+ */
+public final class HBaseBulkImporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HBaseBulkImporter.class);
+
+    public static final String ID_COLUMN = "~id";
+    public static final String LABEL_COLUMN = "~label";
+    public static final String OUT_VERTEX_COLUMN = "~outV";
+    public static final String IN_VERTEX_COLUMN = "~inV";
+
+    private static final long PROGRESS_INTERVAL = 100000;
+
+    private final HBaseGraph graph;
+    private final HBaseBulkLoader loader;
+    private final long startTime = System.currentTimeMillis();
+    private long count = 0;
+
+    public HBaseBulkImporter(HBaseGraph graph, HBaseBulkLoader loader) {
+        this.graph = graph;
+        this.loader = loader;
+    }
+
+    /*
+     * Imports vertices and their out edges from GraphSON in adjacency list format, one vertex per line.
+     */
+    public void importGraphSON(InputStream inputStream) {
+        importGraph(GraphSONReader.build().create(), inputStream);
+    }
+
+    /*
+     * Imports vertices and their out edges from Gryo.
+     */
+    public void importGryo(InputStream inputStream) {
+        importGraph(GryoReader.build().create(), inputStream);
+    }
+
+    public void importGraph(GraphReader reader, InputStream inputStream) {
+        try {
+            Iterator<Vertex> vertices = reader.readVertices(inputStream, this::importVertex, this::importEdge, Direction.OUT);
+            vertices.forEachRemaining(vertex -> { });
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    private Vertex importVertex(Attachable<Vertex> attachable) {
+        Vertex vertex = attachable.get();
+        List<Object> keyValues = new ArrayList<>();
+        keyValues.add(T.id);
+        keyValues.add(vertex.id());
+        keyValues.add(T.label);
+        keyValues.add(vertex.label());
+        vertex.properties().forEachRemaining(property -> {
+            keyValues.add(property.key());
+            keyValues.add(property.value());
+        });
+        Vertex newVertex = loader.addVertex(keyValues.toArray());
+        progress();
+        return newVertex;
+    }
+
+    private Edge importEdge(Attachable<Edge> attachable) {
+        Edge edge = attachable.get();
+        List<Object> keyValues = new ArrayList<>();
+        keyValues.add(T.id);
+        keyValues.add(edge.id());
+        edge.properties().forEachRemaining(property -> {
+            keyValues.add(property.key());
+            keyValues.add(property.value());
+        });
+        Edge newEdge = loader.addEdge(vertexReference(edge.outVertex().id()), vertexReference(edge.inVertex().id()),
+                edge.label(), keyValues.toArray());
+        progress();
+        return newEdge;
+    }
+
+    /*
+     * Imports vertices from CSV, using the given label for rows without one.
+     */
+    public void importVertices(Reader reader, String defaultLabel) {
+        importCsv(reader, (columns, values) -> {
+            String label = defaultLabel;
+            Object id = null;
+            List<Object> keyValues = new ArrayList<>();
+            for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                if (columns.get(i).equals(LABEL_COLUMN) && !values.get(i).isEmpty()) {
+                    label = values.get(i);
+                }
+            }
+            Map<String, ValueType> types = propertyTypes(ElementType.VERTEX, label);
+            for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                String column = columns.get(i);
+                String value = values.get(i);
+                if (value.isEmpty() || column.equals(LABEL_COLUMN)) continue;
+                if (column.equals(ID_COLUMN)) {
+                    id = convert(value, idType(ElementType.VERTEX, label));
+                } else {
+                    keyValues.add(column);
+                    keyValues.add(convert(value, types.get(column)));
+                }
+            }
+            if (id != null) {
+                keyValues.add(T.id);
+                keyValues.add(id);
+            }
+            keyValues.add(T.label);
+            keyValues.add(label);
+            loader.addVertex(keyValues.toArray());
+        });
+    }
+
+    /*
+     * Imports edges from CSV, using the given label for rows without one.
+     */
+    public void importEdges(Reader reader, String defaultLabel) {
+        importCsv(reader, (columns, values) -> {
+            String label = defaultLabel;
+            Object id = null;
+            Object outVertexId = null;
+            Object inVertexId = null;
+            List<Object> keyValues = new ArrayList<>();
+            for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                if (columns.get(i).equals(LABEL_COLUMN) && !values.get(i).isEmpty()) {
+                    label = values.get(i);
+                }
+            }
+            Map<String, ValueType> types = propertyTypes(ElementType.EDGE, label);
+            for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                String column = columns.get(i);
+                String value = values.get(i);
+                if (value.isEmpty() || column.equals(LABEL_COLUMN)) continue;
+                switch (column) {
+                    case ID_COLUMN:
+                        id = convert(value, idType(ElementType.EDGE, label));
+                        break;
+                    case OUT_VERTEX_COLUMN:
+                        outVertexId = convert(value, vertexIdType(label, Direction.OUT));
+                        break;
+                    case IN_VERTEX_COLUMN:
+                        inVertexId = convert(value, vertexIdType(label, Direction.IN));
+                        break;
+                    default:
+                        keyValues.add(column);
+                        keyValues.add(convert(value, types.get(column)));
+                        break;
+                }
+            }
+            if (outVertexId == null || inVertexId == null) {
+                throw new HBaseGraphException("Edge is missing " + OUT_VERTEX_COLUMN + " or " + IN_VERTEX_COLUMN);
+            }
+            if (id != null) {
+                keyValues.add(T.id);
+                keyValues.add(id);
+            }
+            loader.addEdge(vertexReference(outVertexId), vertexReference(inVertexId), label, keyValues.toArray());
+        });
+    }
+
+    private interface RowHandler {
+        void handle(List<String> columns, List<String> values);
+    }
+
+    private void importCsv(Reader reader, RowHandler handler) {
+        try {
+            BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+            String header = lines.readLine();
+            if (header == null) return;
+            List<String> columns = parseCsvLine(header);
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                handler.handle(columns, parseCsvLine(line));
+                progress();
+            }
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    /*
+     * Splits a line on commas, allowing double-quoted values that contain commas or doubled quotes.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private Map<String, ValueType> propertyTypes(ElementType type, String label) {
+        if (!graph.configuration().getUseSchema()) return Collections.emptyMap();
+        return graph.getLabel(type, label).propertyTypes();
+    }
+
+    private ValueType idType(ElementType type, String label) {
+        if (!graph.configuration().getUseSchema()) return null;
+        return graph.getLabel(type, label).idType();
+    }
+
+    /*
+     * Returns the id type of the vertices at the given end of edges with the given label,
+     * as found from the label connections.
+     */
+    private ValueType vertexIdType(String label, Direction direction) {
+        if (!graph.configuration().getUseSchema()) return null;
+        Iterator<LabelConnection> connections = graph.getLabelConnections();
+        while (connections.hasNext()) {
+            LabelConnection connection = connections.next();
+            if (connection.edgeLabel().equals(label)) {
+                String vertexLabel = direction == Direction.OUT ? connection.outVertexLabel() : connection.inVertexLabel();
+                return graph.getLabel(ElementType.VERTEX, vertexLabel).idType();
+            }
+        }
+        return null;
+    }
+
+    private static Object convert(String value, ValueType type) {
+        if (type == null) return value;
+        switch (type) {
+            case BOOLEAN:
+                return Boolean.valueOf(value);
+            case BYTE:
+                return Byte.valueOf(value);
+            case SHORT:
+                return Short.valueOf(value);
+            case INT:
+                return Integer.valueOf(value);
+            case LONG:
+                return Long.valueOf(value);
+            case FLOAT:
+                return Float.valueOf(value);
+            case DOUBLE:
+                return Double.valueOf(value);
+            case DECIMAL:
+                return new BigDecimal(value);
+            case DATE:
+                return LocalDate.parse(value);
+            case TIME:
+                return LocalTime.parse(value);
+            case TIMESTAMP:
+                return LocalDateTime.parse(value);
+            case INTERVAL:
+                return Duration.parse(value);
+            case UUID:
+                return UUID.fromString(value);
+            case STRING:
+            case ANY:
+                return value;
+            default:
+                throw new HBaseGraphNotValidException("Cannot import a value of type " + type);
+        }
+    }
+
+    private Vertex vertexReference(Object id) {
+        return new HBaseVertex(graph, HBaseGraphUtils.generateIdIfNeeded(id));
+    }
+
+    private void progress() {
+        if (++count % PROGRESS_INTERVAL == 0) {
+            LOGGER.info("Imported {} elements, {} elements/sec", count, getElementsPerSecond());
+        }
+    }
+
+    public long getElementCount() {
+        return count;
+    }
+
+    public long getElementsPerSecond() {
+        long elapsed = System.currentTimeMillis() - startTime;
+        return elapsed > 0 ? count * 1000 / elapsed : count;
+    }
+}
@@ -1,12 +1,20 @@
 package io.hgraphdb;
 
 import io.hgraphdb.mutators.Creator;
+import io.hgraphdb.mutators.EdgeGlobalIndexWriter;
 import io.hgraphdb.mutators.EdgeIndexWriter;
 import io.hgraphdb.mutators.EdgeWriter;
 import io.hgraphdb.mutators.VertexIndexWriter;
 import io.hgraphdb.mutators.VertexWriter;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.mapreduce.LoadIncrementalHFiles;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -17,17 +25,36 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class HBaseBulkLoader {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HBaseBulkLoader.class);
 
+    private static final Runnable SHUTDOWN = () -> { };
+
+    /* The tables that the bulk loader writes to, in the order their HFiles are loaded */
+    private static final String[] HFILE_TABLES = {
+            Constants.VERTICES, Constants.VERTEX_INDICES, Constants.EDGES,
+            Constants.EDGE_INDICES, Constants.EDGE_GLOBAL_INDICES
+    };
+
     private HBaseGraph graph;
     private BufferedMutator edgesMutator;
     private BufferedMutator edgeIndicesMutator;
+    private BufferedMutator edgeGlobalIndicesMutator;
     private BufferedMutator verticesMutator;
     private BufferedMutator vertexIndicesMutator;
 
+    /* If not empty, mutations are built on these workers, partitioned by the salt of the element id */
+    private final Worker[] workers;
+
+    private final LongAdder vertexCount = new LongAdder();
+    private final LongAdder edgeCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
     public HBaseBulkLoader(HBaseGraph graph) {
         try {
             this.graph = graph;
@@ -36,40 +63,56 @@ public final class HBaseBulkLoader {
                     for (int i = 0; i < e.getNumExceptions(); i++) {
                         LOGGER.warn("Failed to send put: " + e.getRow(i));
                     }
+                    failedCount.add(e.getNumExceptions());
             };
 
-
             HBaseGraphConfiguration config = graph.configuration();
 
-            BufferedMutatorParams edgesMutatorParams =
-                    new BufferedMutatorParams(HBaseGraphUtils.getTableName(config, Constants.EDGES)).listener(listener);
-            BufferedMutatorParams edgeIndicesMutatorParams =
-                    new BufferedMutatorParams(HBaseGraphUtils.getTableName(config, Constants.EDGE_INDICES)).listener(listener);
-            BufferedMutatorParams verticesMutatorParams =
-                    new BufferedMutatorParams(HBaseGraphUtils.getTableName(config, Constants.VERTICES)).listener(listener);
-            BufferedMutatorParams vertexIndicesMutatorParams =
-                    new BufferedMutatorParams(HBaseGraphUtils.getTableName(config, Constants.VERTEX_INDICES)).listener(listener);
-
-            edgesMutator = graph.connection().getBufferedMutator(edgesMutatorParams);
-            edgeIndicesMutator = graph.connection().getBufferedMutator(edgeIndicesMutatorParams);
-            verticesMutator = graph.connection().getBufferedMutator(verticesMutatorParams);
-            vertexIndicesMutator = graph.connection().getBufferedMutator(vertexIndicesMutatorParams);
+            edgesMutator = getMutator(config, Constants.EDGES, listener);
+            edgeIndicesMutator = getMutator(config, Constants.EDGE_INDICES, listener);
+            edgeGlobalIndicesMutator = getMutator(config, Constants.EDGE_GLOBAL_INDICES, listener);
+            verticesMutator = getMutator(config, Constants.VERTICES, listener);
+            vertexIndicesMutator = getMutator(config, Constants.VERTEX_INDICES, listener);
+
+            workers = new Worker[config.getBulkLoaderThreads()];
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new Worker(i, config.getBulkLoaderQueueSize());
+                workers[i].start();
+            }
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
     }
 
+    /*
+     * Writes to HFiles under the configured HFile directory if there is one, otherwise to the table.
+     */
+    private BufferedMutator getMutator(HBaseGraphConfiguration config, String name,
+                                       BufferedMutator.ExceptionListener listener) throws IOException {
+        TableName tableName = HBaseGraphUtils.getTableName(config, name);
+        String hfileDir = config.getBulkLoaderHFileDir();
+        if (hfileDir != null) {
+            return new HFileMutator(config, tableName, new Path(hfileDir));
+        }
+        return graph.connection().getBufferedMutator(new BufferedMutatorParams(tableName).listener(listener));
+    }
+
     public Vertex addVertex(final Object... keyValues) {
-        try {
-            ElementHelper.legalPropertyKeyValueArray(keyValues);
-            Object idValue = ElementHelper.getIdValue(keyValues).orElse(null);
-            final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
+        ElementHelper.legalPropertyKeyValueArray(keyValues);
+        Object idValue = ElementHelper.getIdValue(keyValues).orElse(null);
+        final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
+
+        idValue = HBaseGraphUtils.generateIdIfNeeded(idValue);
+        long now = System.currentTimeMillis();
+        HBaseVertex vertex = new HBaseVertex(graph, idValue, label, now, now,
+                HBaseGraphUtils.propertiesToMap(keyValues));
 
-            idValue = HBaseGraphUtils.generateIdIfNeeded(idValue);
-            long now = System.currentTimeMillis();
-            HBaseVertex vertex = new HBaseVertex(graph, idValue, label, now, now,
-                    HBaseGraphUtils.propertiesToMap(keyValues));
+        execute(idValue, () -> writeVertex(vertex));
+        return vertex;
+    }
 
+    private void writeVertex(HBaseVertex vertex) {
+        try {
             Iterator<IndexMetadata> indices = vertex.getIndices(OperationType.WRITE);
             VertexIndexWriter writer = new VertexIndexWriter(graph, vertex, indices, null);
             vertexIndicesMutator.mutate(IteratorUtils.list(writer.constructInsertions()));
@@ -77,24 +120,29 @@ public final class HBaseBulkLoader {
             Creator creator = new VertexWriter(graph, vertex);
             verticesMutator.mutate(IteratorUtils.list(creator.constructInsertions()));
 
-            return vertex;
+            vertexCount.increment();
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
     }
 
     public Edge addEdge(Vertex outVertex, Vertex inVertex, String label, Object... keyValues) {
-        try {
-            if (null == inVertex) throw Graph.Exceptions.argumentCanNotBeNull("inVertex");
-            ElementHelper.validateLabel(label);
-            ElementHelper.legalPropertyKeyValueArray(keyValues);
-            Object idValue = ElementHelper.getIdValue(keyValues).orElse(null);
+        if (null == inVertex) throw Graph.Exceptions.argumentCanNotBeNull("inVertex");
+        ElementHelper.validateLabel(label);
+        ElementHelper.legalPropertyKeyValueArray(keyValues);
+        Object idValue = ElementHelper.getIdValue(keyValues).orElse(null);
 
-            idValue = HBaseGraphUtils.generateIdIfNeeded(idValue);
-            long now = System.currentTimeMillis();
-            HBaseEdge edge = new HBaseEdge(graph, idValue, label, now, now,
-                    HBaseGraphUtils.propertiesToMap(keyValues), inVertex, outVertex);
+        idValue = HBaseGraphUtils.generateIdIfNeeded(idValue);
+        long now = System.currentTimeMillis();
+        HBaseEdge edge = new HBaseEdge(graph, idValue, label, now, now,
+                HBaseGraphUtils.propertiesToMap(keyValues), inVertex, outVertex);
 
+        execute(idValue, () -> writeEdge(edge));
+        return edge;
+    }
+
+    private void writeEdge(HBaseEdge edge) {
+        try {
             Iterator<IndexMetadata> indices = edge.getIndices(OperationType.WRITE);
             EdgeIndexWriter indexWriter = new EdgeIndexWriter(graph, edge, indices, null);
             edgeIndicesMutator.mutate(IteratorUtils.list(indexWriter.constructInsertions()));
@@ -102,23 +150,142 @@ public final class HBaseBulkLoader {
             EdgeIndexWriter writer = new EdgeIndexWriter(graph, edge, Constants.CREATED_AT, null);
             edgeIndicesMutator.mutate(IteratorUtils.list(writer.constructInsertions()));
 
+            Iterator<IndexMetadata> globalIndices = edge.getGlobalIndices(OperationType.WRITE);
+            EdgeGlobalIndexWriter globalIndexWriter = new EdgeGlobalIndexWriter(graph, edge, globalIndices, null);
+            edgeGlobalIndicesMutator.mutate(IteratorUtils.list(globalIndexWriter.constructInsertions()));
+
             Creator creator = new EdgeWriter(graph, edge);
             edgesMutator.mutate(IteratorUtils.list(creator.constructInsertions()));
 
-            return edge;
+            edgeCount.increment();
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
     }
 
+    /*
+     * Runs the task on the caller's thread if there are no workers, otherwise on the worker
+     * for the salt of the given id.  Blocks if the worker's queue is full.
+     */
+    private void execute(Object id, Runnable task) {
+        if (workers.length == 0) {
+            task.run();
+            return;
+        }
+        int salt = ValueUtils.getSaltingByte(ValueUtils.serialize(id)) & 0xff;
+        workers[salt % workers.length].submit(task);
+    }
+
+    /*
+     * The number of vertices whose mutations have been handed to the mutators.
+     */
+    public long getVertexCount() {
+        return vertexCount.sum();
+    }
+
+    /*
+     * The number of edges whose mutations have been handed to the mutators.
+     */
+    public long getEdgeCount() {
+        return edgeCount.sum();
+    }
+
+    /*
+     * The number of elements that failed to be built on a worker, plus the number of rows
+     * that failed to be sent.
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
     public void close() {
         try {
+            for (Worker worker : workers) {
+                worker.submit(SHUTDOWN);
+            }
+            for (Worker worker : workers) {
+                worker.join();
+            }
             edgesMutator.close();
             edgeIndicesMutator.close();
+            edgeGlobalIndicesMutator.close();
             verticesMutator.close();
             vertexIndicesMutator.close();
         } catch (IOException e) {
             throw new HBaseGraphException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    /*
+     * Loads the HFiles that a bulk loader wrote to the configured HFile directory into the tables
+     * of the graph.  The files for each region are loaded atomically, and files that span more
+     * than one region, because a region has been split since the table was created, are split
+     * first.  Loaded files are moved out of the directory.
+     */
+    public static void loadHFiles(HBaseGraph graph) {
+        HBaseGraphConfiguration config = graph.configuration();
+        String hfileDir = config.getBulkLoaderHFileDir();
+        if (hfileDir == null) {
+            throw new HBaseGraphException("No HFile directory is configured");
+        }
+        if (config.getInstanceType() == HBaseGraphConfiguration.InstanceType.MOCK) {
+            throw new HBaseGraphException("HFiles cannot be loaded into a mock instance");
+        }
+        Connection conn = graph.connection();
+        try (Admin admin = conn.getAdmin()) {
+            LoadIncrementalHFiles loader = new LoadIncrementalHFiles(conn.getConfiguration());
+            for (String name : HFILE_TABLES) {
+                TableName tableName = HBaseGraphUtils.getTableName(config, name);
+                Path tableDir = HFileMutator.getTableDir(new Path(hfileDir), tableName);
+                if (!tableDir.getFileSystem(conn.getConfiguration()).exists(tableDir)) continue;
+                try (Table table = conn.getTable(tableName);
+                     RegionLocator regionLocator = conn.getRegionLocator(tableName)) {
+                    loader.doBulkLoad(tableDir, admin, table, regionLocator);
+                }
+            }
+        } catch (Exception e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    private final class Worker extends Thread {
+
+        private final BlockingQueue<Runnable> queue;
+
+        Worker(int index, int queueSize) {
+            super("hbase-bulk-loader-" + index);
+            setDaemon(true);
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        void submit(Runnable task) {
+            try {
+                queue.put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HBaseGraphException(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Runnable task = queue.take();
+                    if (task == SHUTDOWN) return;
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        LOGGER.warn("Failed to load element", e);
+                        failedCount.increment();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 }
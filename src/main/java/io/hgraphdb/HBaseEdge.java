@@ -1,7 +1,12 @@
 package io.hgraphdb;
 
+import io.hgraphdb.models.BaseModel;
+import io.hgraphdb.models.EdgeGlobalIndexModel;
 import io.hgraphdb.models.EdgeIndexModel;
 import io.hgraphdb.models.EdgeModel;
+import io.hgraphdb.mutators.EdgeGlobalIndexRemover;
+import io.hgraphdb.mutators.EdgeIndexRemover;
+import io.hgraphdb.mutators.Mutator;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Property;
@@ -13,7 +18,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class HBaseEdge extends HBaseElement implements Edge {
 
@@ -56,6 +64,11 @@ public class HBaseEdge extends HBaseElement implements Edge {
         }
     }
 
+    @Override
+    public boolean isLoaded() {
+        return super.isLoaded() && inVertex != null && outVertex != null;
+    }
+
     @Override
     public Vertex outVertex() {
         return getVertex(Direction.OUT);
@@ -129,7 +142,11 @@ public class HBaseEdge extends HBaseElement implements Edge {
 
     @Override
     public void writeToModel() {
-        getModel().writeEdge(this);
+        writeToModel(false);
+    }
+
+    public void writeToModel(boolean upsert) {
+        getModel().writeEdge(this, upsert);
     }
 
     @Override
@@ -137,12 +154,41 @@ public class HBaseEdge extends HBaseElement implements Edge {
         getModel().deleteEdge(this);
     }
 
+    public EdgeGlobalIndexModel getGlobalIndexModel() {
+        return graph.getEdgeGlobalIndexModel();
+    }
+
+    /*
+     * Indices that are specific to a vertex.
+     */
+    @Override
+    public Iterator<IndexMetadata> getIndices(OperationType op) {
+        return IteratorUtils.filter(super.getIndices(op), index -> !index.isGlobal());
+    }
+
+    /*
+     * Indices that span the whole graph, including the label index.
+     */
+    public Iterator<IndexMetadata> getGlobalIndices(OperationType op) {
+        Set<String> keys = getPropertyKeys();
+        keys.add(Constants.LABEL);
+        return IteratorUtils.filter(graph.getIndices(op, getElementType(), label, keys), IndexMetadata::isGlobal);
+    }
+
+    private boolean hasGlobalIndex(String key) {
+        if (key.equals(Constants.LABEL)) return true;
+        IndexMetadata index = graph.getIndex(OperationType.WRITE, getElementType(), label, key);
+        return index != null && index.isGlobal();
+    }
+
     public void writeEdgeEndpoints() {
         getIndexModel().writeEdgeEndpoints(this);
+        getGlobalIndexModel().writeEdgeIndex(this);
     }
 
     public void deleteEdgeEndpoints() {
         getIndexModel().deleteEdgeEndpoints(this, null);
+        getGlobalIndexModel().deleteEdgeIndex(this, null);
     }
 
     public void deleteEdgeEndpoints(Long ts) {
@@ -151,12 +197,56 @@ public class HBaseEdge extends HBaseElement implements Edge {
 
     @Override
     public void writeToIndexModel(String key) {
-        getIndexModel().writeEdgeIndex(this, key);
+        if (hasGlobalIndex(key)) {
+            getGlobalIndexModel().writeEdgeIndex(this, key);
+        } else {
+            getIndexModel().writeEdgeIndex(this, key);
+        }
     }
 
     @Override
     public void deleteFromIndexModel(String key, Long ts) {
-        getIndexModel().deleteEdgeIndex(this, key, ts);
+        if (hasGlobalIndex(key)) {
+            getGlobalIndexModel().deleteEdgeIndex(this, key, ts);
+        } else {
+            getIndexModel().deleteEdgeIndex(this, key, ts);
+        }
+    }
+
+    @Override
+    public BaseModel getIndexModel(String key) {
+        return hasGlobalIndex(key) ? getGlobalIndexModel() : getIndexModel();
+    }
+
+    @Override
+    public Mutator getIndexRemover(String key, Long ts) {
+        return hasGlobalIndex(key)
+                ? new EdgeGlobalIndexRemover(graph, this, key, ts)
+                : new EdgeIndexRemover(graph, this, key, ts);
+    }
+
+    @Override
+    public void writeToIndexModel(List<IndexMetadata> indices) {
+        Map<Boolean, List<IndexMetadata>> byGlobal = indices.stream()
+                .collect(Collectors.partitioningBy(IndexMetadata::isGlobal));
+        if (!byGlobal.get(true).isEmpty()) {
+            getGlobalIndexModel().writeEdgeIndex(this, byGlobal.get(true));
+        }
+        if (!byGlobal.get(false).isEmpty()) {
+            getIndexModel().writeEdgeIndex(this, byGlobal.get(false));
+        }
+    }
+
+    @Override
+    public void deleteFromIndexModel(List<IndexMetadata> indices, Long ts) {
+        Map<Boolean, List<IndexMetadata>> byGlobal = indices.stream()
+                .collect(Collectors.partitioningBy(IndexMetadata::isGlobal));
+        if (!byGlobal.get(true).isEmpty()) {
+            getGlobalIndexModel().deleteEdgeIndex(this, byGlobal.get(true), ts);
+        }
+        if (!byGlobal.get(false).isEmpty()) {
+            getIndexModel().deleteEdgeIndex(this, byGlobal.get(false), ts);
+        }
     }
 
     @Override
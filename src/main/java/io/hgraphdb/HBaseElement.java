@@ -8,19 +8,18 @@ import org.apache.hadoop.hbase.client.Table;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public abstract class HBaseElement implements Element {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(HBaseElement.class);
-
     protected final HBaseGraph graph;
     protected final Object id;
     protected String label;
@@ -97,6 +96,10 @@ public abstract class HBaseElement implements Element {
         this.isDeleted = isDeleted;
     }
 
+    public boolean isLoaded() {
+        return label != null && properties != null && propertiesFullyLoaded;
+    }
+
     public Map<String, Object> getProperties() {
         if (properties == null || !propertiesFullyLoaded) {
             load();
@@ -111,7 +114,7 @@ public abstract class HBaseElement implements Element {
         if (element.updatedAt != null) this.updatedAt = element.updatedAt;
         if (element.properties != null
                 && (element.propertiesFullyLoaded || this.properties == null)) {
-            this.properties = new ConcurrentHashMap<>(element.properties);
+            this.properties = new LazyProperties(element.properties);
             this.propertiesFullyLoaded = element.propertiesFullyLoaded;
         }
     }
@@ -164,7 +167,55 @@ public abstract class HBaseElement implements Element {
             }
         }
         Mutator writer = getModel().writeProperty(this, key, value);
-        Mutators.write(getTable(), writer);
+        Mutators.write(getTable(), getModel().getMutator(), writer);
+    }
+
+    /*
+     * Set several properties at once.  The index rows of all affected indices are removed and
+     * rewritten in one batch per table, and the properties are written in a single put.
+     */
+    public void setProperties(Map<String, Object> newProperties) {
+        if (newProperties.isEmpty()) return;
+        newProperties.forEach((key, value) -> {
+            ElementHelper.validateProperty(key, value);
+            graph.validateProperty(getElementType(), label, key, value);
+        });
+
+        // only load old values for keys that are indexed
+        List<IndexMetadata> indices = IteratorUtils.list(IteratorUtils.filter(
+                graph.getIndices(OperationType.WRITE, getElementType()),
+                index -> index.label().equals(label()) && !Collections.disjoint(index.propertyKeys(), newProperties.keySet())));
+        Set<String> changedKeys = new HashSet<>();
+        indices.forEach(index -> index.propertyKeys().forEach(key -> {
+            Object value = newProperties.get(key);
+            if (value != null && !changedKeys.contains(key)) {
+                Object oldValue = getProperty(key);
+                if (oldValue == null || !oldValue.equals(value)) changedKeys.add(key);
+            }
+        }));
+        List<IndexMetadata> changedIndices = indices.stream()
+                .filter(index -> !Collections.disjoint(index.propertyKeys(), changedKeys))
+                .collect(Collectors.toList());
+
+        // delete from index model before setting properties
+        if (!changedIndices.isEmpty()) {
+            Set<String> oldKeys = getPropertyKeys();
+            List<IndexMetadata> oldIndices = changedIndices.stream()
+                    .filter(index -> oldKeys.containsAll(index.propertyKeys()))
+                    .collect(Collectors.toList());
+            if (!oldIndices.isEmpty()) {
+                deleteFromIndexModel(oldIndices, null);
+            }
+        }
+
+        getProperties().putAll(newProperties);
+        updatedAt(System.currentTimeMillis());
+
+        if (!changedIndices.isEmpty()) {
+            writeToIndexModel(changedIndices);
+        }
+        Mutator writer = getModel().writeProperties(this, newProperties);
+        Mutators.write(getTable(), getModel().getMutator(), writer);
     }
 
     public <V> V removeProperty(String key) {
@@ -180,7 +231,7 @@ public abstract class HBaseElement implements Element {
             updatedAt(System.currentTimeMillis());
 
             Mutator writer = getModel().clearProperty(this, key);
-            Mutators.write(getTable(), writer);
+            Mutators.write(getTable(), getModel().getMutator(), writer);
         }
         return value;
     }
@@ -234,20 +285,34 @@ public abstract class HBaseElement implements Element {
     public abstract void deleteFromIndexModel(String key, Long ts);
 
     /*
-     * Remove one stale index using indexKey and indexTs.
+     * Write the given indices, which must be covered by the current properties.
+     * Used when setting several properties at once.
+     */
+    public abstract void writeToIndexModel(List<IndexMetadata> indices);
+
+    /*
+     * Remove the given indices with the given ts.
+     * Used when setting several properties at once.
+     */
+    public abstract void deleteFromIndexModel(List<IndexMetadata> indices, Long ts);
+
+    /*
+     * The index model and remover for one index with the given ts.
+     * Used when removing stale indices.
+     */
+    public abstract BaseModel getIndexModel(String key);
+
+    public abstract Mutator getIndexRemover(String key, Long ts);
+
+    /*
+     * Queue one stale index using indexKey and indexTs for removal.
      */
     public void removeStaleIndex() {
         IndexMetadata.Key indexKey = getIndexKey();
         long ts = getIndexTs();
         // delete after some expiry due to timing issues between index creation and element creation
         if (indexKey != null && ts + graph.configuration().getStaleIndexExpiryMs() < System.currentTimeMillis()) {
-            graph.getExecutor().submit(() -> {
-                try {
-                    deleteFromIndexModel(indexKey.propertyKey(), ts);
-                } catch (Exception e) {
-                    LOGGER.error("Could not delete stale index", e);
-                }
-            });
+            graph.getStaleIndexSweeper().add(this, indexKey.propertyKey(), ts);
         }
     }
 
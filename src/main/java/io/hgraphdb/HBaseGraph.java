@@ -4,11 +4,16 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
+import com.google.common.collect.Iterators;
 import io.hgraphdb.HBaseGraphConfiguration.InstanceType;
 import io.hgraphdb.IndexMetadata.State;
 import io.hgraphdb.models.*;
+import io.hgraphdb.process.strategy.optimization.HBaseLimitCountStrategy;
 import io.hgraphdb.process.strategy.optimization.HBaseGraphStepStrategy;
+import io.hgraphdb.process.strategy.optimization.HBaseVertexStepStrategy;
 import org.apache.commons.configuration.Configuration;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
@@ -18,6 +23,7 @@ import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +33,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -94,7 +101,7 @@ public class HBaseGraph implements Graph {
     private static final Logger LOGGER = LoggerFactory.getLogger(HBaseGraph.class);
 
     static {
-        TraversalStrategies.GlobalCache.registerStrategies(HBaseGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(HBaseGraphStepStrategy.instance()));
+        TraversalStrategies.GlobalCache.registerStrategies(HBaseGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(HBaseGraphStepStrategy.instance(), HBaseVertexStepStrategy.instance(), HBaseLimitCountStrategy.instance()));
     }
 
     private final HBaseGraphConfiguration config;
@@ -102,17 +109,21 @@ public class HBaseGraph implements Graph {
     private final Connection connection;
     private final EdgeModel edgeModel;
     private final EdgeIndexModel edgeIndexModel;
+    private final EdgeGlobalIndexModel edgeGlobalIndexModel;
     private final VertexModel vertexModel;
     private final VertexIndexModel vertexIndexModel;
     private final IndexMetadataModel indexMetadataModel;
     private final LabelMetadataModel labelMetadataModel;
     private final LabelConnectionModel labelConnectionModel;
+    private final PropertyKeyModel propertyKeyModel;
     private Cache<ByteBuffer, Edge> edgeCache;
     private Cache<ByteBuffer, Vertex> vertexCache;
     private Map<IndexMetadata.Key, IndexMetadata> indices = new ConcurrentHashMap<>();
     private Map<LabelMetadata.Key, LabelMetadata> labels = new ConcurrentHashMap<>();
     private Set<LabelConnection> labelConnections = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private ScheduledFuture<?> flushTask;
+    private final StaleIndexSweeper staleIndexSweeper;
 
     public static HBaseGraph open(final Configuration properties) throws HBaseGraphException {
         return new HBaseGraph(properties);
@@ -157,21 +168,37 @@ public class HBaseGraph implements Graph {
             this.connection = connection;
             this.features = new HBaseGraphFeatures(config.getInstanceType() == InstanceType.DISTRIBUTED);
 
+            if (config.getKryoRegistrator() != null) {
+                ValueUtils.setKryoRegistrator(KryoPool.newRegistrator(config.getKryoRegistrator()));
+            }
+
+            boolean newGraph = false;
             if (config.getCreateTables()) {
-                HBaseGraphUtils.createTables(config, connection);
+                newGraph = HBaseGraphUtils.createTables(config, connection);
             }
 
             String ns = config.getGraphNamespace();
+            this.propertyKeyModel = new PropertyKeyModel(this, config.getUsePropertyKeyDictionary()
+                    ? connection.getTable(HBaseGraphUtils.getTableName(config, Constants.PROPERTY_KEYS))
+                    : null);
             this.edgeModel = new EdgeModel(this,
-                    connection.getTable(HBaseGraphUtils.getTableName(config, Constants.EDGES)));
+                    connection.getTable(HBaseGraphUtils.getTableName(config, Constants.EDGES)),
+                    getBufferedMutator(Constants.EDGES));
             this.vertexModel = new VertexModel(this,
-                    connection.getTable(HBaseGraphUtils.getTableName(config, Constants.VERTICES)));
+                    connection.getTable(HBaseGraphUtils.getTableName(config, Constants.VERTICES)),
+                    getBufferedMutator(Constants.VERTICES));
             this.edgeIndexModel = new EdgeIndexModel(this,
-                    connection.getTable(HBaseGraphUtils.getTableName(config, Constants.EDGE_INDICES)));
+                    connection.getTable(HBaseGraphUtils.getTableName(config, Constants.EDGE_INDICES)),
+                    getBufferedMutator(Constants.EDGE_INDICES));
+            this.edgeGlobalIndexModel = new EdgeGlobalIndexModel(this,
+                    connection.getTable(HBaseGraphUtils.getTableName(config, Constants.EDGE_GLOBAL_INDICES)),
+                    getBufferedMutator(Constants.EDGE_GLOBAL_INDICES));
             this.vertexIndexModel = new VertexIndexModel(this,
-                    connection.getTable(HBaseGraphUtils.getTableName(config, Constants.VERTEX_INDICES)));
+                    connection.getTable(HBaseGraphUtils.getTableName(config, Constants.VERTEX_INDICES)),
+                    getBufferedMutator(Constants.VERTEX_INDICES));
             this.indexMetadataModel = new IndexMetadataModel(this,
                     connection.getTable(HBaseGraphUtils.getTableName(config, Constants.INDEX_METADATA)));
+            checkPropertyKeyDictionary(newGraph);
             if (config.getUseSchema()) {
                 this.labelMetadataModel = new LabelMetadataModel(this,
                         connection.getTable(HBaseGraphUtils.getTableName(config, Constants.LABEL_METADATA)));
@@ -193,24 +220,80 @@ public class HBaseGraph implements Graph {
                     .removalListener((RemovalListener<ByteBuffer, Vertex>) notif -> ((HBaseVertex) notif.getValue()).setCached(false))
                     .build();
 
+            this.staleIndexSweeper = new StaleIndexSweeper(this);
+
             refreshSchema();
             executor.scheduleAtFixedRate(this::refreshSchema,
                     config.getSchemaCacheRefreshSecs(), config.getSchemaCacheRefreshSecs(), TimeUnit.SECONDS);
+            if (config.getAsyncWrites()) {
+                this.flushTask = executor.scheduleAtFixedRate(this::flushBufferedWrites,
+                        config.getAsyncFlushIntervalMs(), config.getAsyncFlushIntervalMs(), TimeUnit.MILLISECONDS);
+            }
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
     }
 
+    /*
+     * The property key dictionary cannot be turned on or off for an existing graph, so the setting is
+     * recorded when this client creates the tables and checked by every client.  Graphs whose tables
+     * existed before the setting was recorded do not use the dictionary.
+     */
+    private void checkPropertyKeyDictionary(boolean newGraph) {
+        boolean useDictionary = config.getUsePropertyKeyDictionary();
+        Boolean recorded = indexMetadataModel.usesPropertyKeyDictionary();
+        if (recorded == null) {
+            recorded = newGraph && indexMetadataModel.recordPropertyKeyDictionary(useDictionary);
+        }
+        if (useDictionary != recorded) {
+            throw new HBaseGraphException("Graph " + config.getGraphNamespace()
+                    + (useDictionary ? " does not use" : " uses") + " the property key dictionary, but "
+                    + HBaseGraphConfiguration.Keys.USE_PROPERTY_KEY_DICTIONARY + " is " + useDictionary);
+        }
+    }
+
+    private BufferedMutator getBufferedMutator(String name) throws IOException {
+        if (!config.getAsyncWrites()) return null;
+        BufferedMutatorParams params = new BufferedMutatorParams(HBaseGraphUtils.getTableName(config, name))
+                .writeBufferSize(config.getAsyncWriteBufferSize());
+        return connection.getBufferedMutator(params);
+    }
+
+    /*
+     * Sends any writes buffered when async writes are enabled.
+     */
+    public void flush() {
+        vertexIndexModel.flush();
+        vertexModel.flush();
+        edgeGlobalIndexModel.flush();
+        edgeIndexModel.flush();
+        edgeModel.flush();
+    }
+
+    private void flushBufferedWrites() {
+        try {
+            flush();
+        } catch (Exception e) {
+            LOGGER.error("Failed to flush buffered writes", e);
+        }
+    }
+
     protected ScheduledExecutorService getExecutor() {
         return executor;
     }
 
+    public StaleIndexSweeper getStaleIndexSweeper() {
+        return staleIndexSweeper;
+    }
+
     public EdgeModel getEdgeModel() {
         return edgeModel;
     }
 
     public EdgeIndexModel getEdgeIndexModel() { return edgeIndexModel; }
 
+    public EdgeGlobalIndexModel getEdgeGlobalIndexModel() { return edgeGlobalIndexModel; }
+
     public VertexModel getVertexModel() {
         return vertexModel;
     }
@@ -231,22 +314,45 @@ public class HBaseGraph implements Graph {
         return labelConnectionModel;
     }
 
+    public PropertyKeyModel getPropertyKeyModel() {
+        return propertyKeyModel;
+    }
+
     public boolean isLazyLoading() {
         return configuration().isLazyLoading();
     }
 
     @Override
     public Vertex addVertex(final Object... keyValues) {
+        return addVertex(config.getUpsertElements(), keyValues);
+    }
+
+    /*
+     * Adds a vertex without checking whether one with the same id already exists.  Only for ids
+     * that are known to be new: the index rows of an existing vertex would not be removed.
+     * Unique indices are still checked.
+     */
+    public Vertex upsertVertex(final Object... keyValues) {
+        return addVertex(true, keyValues);
+    }
+
+    private Vertex addVertex(boolean upsert, final Object[] keyValues) {
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         Object idValue = ElementHelper.getIdValue(keyValues).orElse(null);
         final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
 
         idValue = HBaseGraphUtils.generateIdIfNeeded(idValue);
         long now = System.currentTimeMillis();
-        HBaseVertex newVertex = new HBaseVertex(this, idValue, label, now, now, HBaseGraphUtils.propertiesToMap(keyValues));
+        Map<String, Object> properties = HBaseGraphUtils.propertiesToMap(keyValues);
+        HBaseVertex newVertex = new HBaseVertex(this, idValue, label, now, now, properties);
         newVertex.writeToIndexModel();
-        newVertex.writeToModel();
+        newVertex.writeToModel(upsert);
 
+        if (upsert) {
+            // a cached vertex may hold other properties, so it is replaced by one loaded on first use
+            invalidateVertex(idValue);
+            newVertex = new HBaseVertex(this, idValue, label, now, now, properties, false);
+        }
         Vertex vertex = findOrCreateVertex(idValue);
         ((HBaseVertex) vertex).copyFrom(newVertex);
         return vertex;
@@ -257,7 +363,7 @@ public class HBaseGraph implements Graph {
         if (vertexIds.length == 0) {
             return allVertices();
         } else {
-            return Stream.of(vertexIds)
+            Iterator<Vertex> vertices = Stream.of(vertexIds)
                     .map(id -> {
                         if (id instanceof Long)
                             return id;
@@ -268,14 +374,10 @@ public class HBaseGraph implements Graph {
                         else
                             return id;
                     })
-                    .flatMap(id -> {
-                        try {
-                            return Stream.of(vertex(id));
-                        } catch (final HBaseGraphNotFoundException e) {
-                            return Stream.empty();
-                        }
-                    })
+                    .map(this::findOrCreateVertex)
                     .iterator();
+            return IteratorUtils.flatMap(Iterators.partition(vertices, config.getMultiGetBatchSize()),
+                    batch -> vertexModel.load(batch).iterator());
         }
     }
 
@@ -308,6 +410,10 @@ public class HBaseGraph implements Graph {
         return vertex;
     }
 
+    void invalidateVertex(Object id) {
+        vertexCache.invalidate(ByteBuffer.wrap(ValueUtils.serialize(id)));
+    }
+
     public void removeVertex(Vertex vertex) {
         vertex.remove();
     }
@@ -336,16 +442,36 @@ public class HBaseGraph implements Graph {
         return vertexModel.vertices(label, key, inclusiveFromValue, exclusiveToValue);
     }
 
+    /*
+     * Find vertices using the composite index on the given property keys,
+     * with the values matching a prefix of the keys.
+     */
+    public Iterator<Vertex> allVertices(String label, List<String> propertyKeys, List<Object> values) {
+        return vertexModel.vertices(label, propertyKeys, values, null, null);
+    }
+
+    /*
+     * As above, plus a range on the key that follows the prefix.  Either end of the range may be null.
+     */
+    public Iterator<Vertex> allVertices(String label, List<String> propertyKeys, List<Object> values,
+                                        Object inclusiveFromValue, Object exclusiveToValue) {
+        return vertexModel.vertices(label, propertyKeys, values, inclusiveFromValue, exclusiveToValue);
+    }
+
     public Edge addEdge(Vertex outVertex, Vertex inVertex, String label, Object... keyValues) {
         return outVertex.addEdge(label, inVertex, keyValues);
     }
 
+    public Edge upsertEdge(Vertex outVertex, Vertex inVertex, String label, Object... keyValues) {
+        return ((HBaseVertex) outVertex).upsertEdge(label, inVertex, keyValues);
+    }
+
     @Override
     public Iterator<Edge> edges(final Object... edgeIds) {
         if (edgeIds.length == 0) {
             return allEdges();
         } else {
-            return Stream.of(edgeIds)
+            Iterator<Edge> edges = Stream.of(edgeIds)
                     .map(id -> {
                         if (id instanceof Long)
                             return id;
@@ -356,16 +482,13 @@ public class HBaseGraph implements Graph {
                         else
                             return id;
                     })
-                    .flatMap(id -> {
-                        try {
-                            return Stream.of(edge(id));
-                        } catch (final HBaseGraphNotFoundException e) {
-                            return Stream.empty();
-                        }
-                    })
+                    .map(this::findOrCreateEdge)
                     .iterator();
+            return IteratorUtils.flatMap(Iterators.partition(edges, config.getMultiGetBatchSize()),
+                    batch -> edgeModel.load(batch).iterator());
         }
     }
+
     public Edge edge(Object id) {
         if (id == null) {
             throw Exceptions.argumentCanNotBeNull("id");
@@ -397,6 +520,10 @@ public class HBaseGraph implements Graph {
         return edge;
     }
 
+    void invalidateEdge(Object id) {
+        edgeCache.invalidate(ByteBuffer.wrap(ValueUtils.serialize(id)));
+    }
+
     public void removeEdge(Edge edge) {
         edge.remove();
     }
@@ -409,10 +536,22 @@ public class HBaseGraph implements Graph {
         return edgeModel.edges(fromId, limit);
     }
 
+    public Iterator<Edge> allEdges(String label) {
+        return edgeModel.edges(label);
+    }
+
     public Iterator<Edge> allEdges(String key, Object value) {
         return edgeModel.edges(key, value);
     }
 
+    public Iterator<Edge> allEdges(String label, String key, Object value) {
+        return edgeModel.edges(label, key, value);
+    }
+
+    public Iterator<Edge> allEdges(String label, String key, Object inclusiveFromValue, Object exclusiveToValue) {
+        return edgeModel.edges(label, key, inclusiveFromValue, exclusiveToValue);
+    }
+
     @Override
     public <C extends GraphComputer> C compute(final Class<C> graphComputerClass) {
         throw Graph.Exceptions.graphComputerNotSupported();
@@ -477,6 +616,37 @@ public class HBaseGraph implements Graph {
         }
     }
 
+    public void createLabelIndex(ElementType type, String label) {
+        createIndex(type, label, Constants.LABEL, false, false, true);
+    }
+
+    public void createLabelIndex(ElementType type, String label, boolean populate) {
+        createIndex(type, label, Constants.LABEL, false, populate, true);
+    }
+
+    public void createCompositeIndex(ElementType type, String label, List<String> propertyKeys) {
+        createCompositeIndex(type, label, propertyKeys, false, false);
+    }
+
+    public void createCompositeIndex(ElementType type, String label, List<String> propertyKeys, boolean isUnique) {
+        createCompositeIndex(type, label, propertyKeys, isUnique, false);
+    }
+
+    public void createCompositeIndex(ElementType type, String label, List<String> propertyKeys, boolean isUnique, boolean populate) {
+        if (type != ElementType.VERTEX) {
+            throw new HBaseGraphException("Composite indices are only supported for vertices");
+        }
+        if (propertyKeys.size() < 2) {
+            throw new HBaseGraphException("Composite indices require at least two property keys");
+        }
+        for (String propertyKey : propertyKeys) {
+            if (Graph.Hidden.isHidden(propertyKey) || propertyKey.contains(IndexMetadata.COMPOSITE_KEY_SEPARATOR)) {
+                throw new HBaseGraphException("Invalid property key for composite index: " + propertyKey);
+            }
+        }
+        createIndex(type, label, IndexMetadata.joinPropertyKeys(propertyKeys), isUnique, populate);
+    }
+
     public void createIndex(ElementType type, String label, String propertyKey) {
         createIndex(type, label, propertyKey, false, false);
     }
@@ -486,6 +656,10 @@ public class HBaseGraph implements Graph {
     }
 
     public void createIndex(ElementType type, String label, String propertyKey, boolean isUnique, boolean populate) {
+        createIndex(type, label, propertyKey, isUnique, populate, false);
+    }
+
+    public void createIndex(ElementType type, String label, String propertyKey, boolean isUnique, boolean populate, boolean isGlobal) {
         if (configuration().getUseSchema()) {
             getLabel(type, label);
         }
@@ -495,7 +669,7 @@ public class HBaseGraph implements Graph {
             throw new HBaseGraphException("Index for " + indexKey.toString() + " already exists");
         }
         long now = System.currentTimeMillis();
-        IndexMetadata index = new IndexMetadata(type, label, propertyKey, isUnique, State.CREATED, now, now);
+        IndexMetadata index = new IndexMetadata(type, label, propertyKey, isUnique, isGlobal, State.CREATED, now, now);
         if (oldIndex == null) {
             indexMetadataModel.createIndexMetadata(index);
         } else {
@@ -511,16 +685,88 @@ public class HBaseGraph implements Graph {
 
     private void populateIndex(IndexMetadata index) {
         updateIndex(index.key(), State.BUILDING);
+        indexMetadataModel.clearIndexProgress(index.key());
+        schedulePopulateIndex(index);
+    }
+
+    /*
+     * Resumes populating an index that is still building, e.g. after the process populating it has died.
+     * Salt buckets that have been checkpointed continue from the last row indexed.
+     */
+    public void resumePopulateIndex(ElementType type, String label, String propertyKey) {
+        IndexMetadata.Key indexKey = new IndexMetadata.Key(type, label, propertyKey);
+        IndexMetadata index = indexMetadataModel.index(indexKey);
+        if (index == null || index.state() != State.BUILDING) {
+            throw new HBaseGraphException("Index for " + indexKey.toString() + " is not building");
+        }
+        schedulePopulateIndex(index);
+    }
 
+    private void schedulePopulateIndex(IndexMetadata index) {
         executor.schedule(
-                () -> {
-                    if (index.type() == ElementType.VERTEX) {
-                        allVertices().forEachRemaining(vertex -> vertexIndexModel.writeVertexIndex(vertex, index));
-                    } else {
-                        allEdges().forEachRemaining(edge -> edgeIndexModel.writeEdgeIndex(edge, index));
+                () -> new IndexPopulator(this, index).populate().whenComplete((result, e) -> {
+                    if (e != null) {
+                        LOGGER.error("Failed to populate " + index.toString(), e);
+                        return;
                     }
                     updateIndex(index.key(), State.ACTIVE);
-                },
+                    indexMetadataModel.clearIndexProgress(index.key());
+                }),
+                configuration().getSchemaStateChangeDelaySecs(), TimeUnit.SECONDS);
+    }
+
+    public void dropLabelIndex(ElementType type, String label) {
+        dropIndex(type, label, Constants.LABEL);
+    }
+
+    public void dropCompositeIndex(ElementType type, String label, List<String> propertyKeys) {
+        dropIndex(type, label, IndexMetadata.joinPropertyKeys(propertyKeys));
+    }
+
+    /*
+     * Stops using an index and purges its rows in the background.  The index stays inactive while its
+     * rows are purged, and is marked dropped once they are all gone, after which it can be re-created.
+     * An index that is still being populated cannot be dropped, since the populator would keep writing rows,
+     * and an index that is already being dropped is resumed with resumeDropIndex instead.
+     */
+    public void dropIndex(ElementType type, String label, String propertyKey) {
+        IndexMetadata.Key indexKey = new IndexMetadata.Key(type, label, propertyKey);
+        IndexMetadata index = indexMetadataModel.index(indexKey);
+        if (index != null && index.state() == State.BUILDING) {
+            throw new HBaseGraphException("Index for " + indexKey.toString() + " is still building");
+        }
+        if (index != null && index.state() == State.INACTIVE) {
+            throw new HBaseGraphException("Index for " + indexKey.toString()
+                    + " is already being dropped; use resumeDropIndex to resume purging it");
+        }
+        updateIndex(indexKey, State.INACTIVE);
+        indexMetadataModel.clearPurgeProgress(indexKey);
+        schedulePurgeIndex(indexMetadataModel.index(indexKey));
+    }
+
+    /*
+     * Resumes purging an index that has not yet been dropped, e.g. after the process purging it has died.
+     * Salt buckets that have been checkpointed continue from the last row deleted.
+     */
+    public void resumeDropIndex(ElementType type, String label, String propertyKey) {
+        IndexMetadata.Key indexKey = new IndexMetadata.Key(type, label, propertyKey);
+        IndexMetadata index = indexMetadataModel.index(indexKey);
+        if (index == null || index.state() != State.INACTIVE) {
+            throw new HBaseGraphException("Index for " + indexKey.toString() + " is not being dropped");
+        }
+        schedulePurgeIndex(index);
+    }
+
+    private void schedulePurgeIndex(IndexMetadata index) {
+        executor.schedule(
+                () -> new IndexPurger(this, index).purge().whenComplete((result, e) -> {
+                    if (e != null) {
+                        LOGGER.error("Failed to purge " + index.toString(), e);
+                        return;
+                    }
+                    indexMetadataModel.clearPurgeProgress(index.key());
+                    updateIndex(index.key(), State.DROPPED);
+                }),
                 configuration().getSchemaStateChangeDelaySecs(), TimeUnit.SECONDS);
     }
 
@@ -548,7 +794,8 @@ public class HBaseGraph implements Graph {
                 .filter(index -> isIndexActive(op, index)
                         && index.type().equals(type)
                         && index.label().equals(label)
-                        && propertyKeys.contains(index.propertyKey())).iterator();
+                        && (propertyKeys.contains(index.propertyKey())
+                            || (index.isComposite() && propertyKeys.containsAll(index.propertyKeys())))).iterator();
     }
 
     private boolean isIndexActive(OperationType op, IndexMetadata index) {
@@ -688,6 +935,8 @@ public class HBaseGraph implements Graph {
         if (idType != ValueType.ANY && idType != ValueUtils.getValueType(id)) {
             throw new HBaseGraphNotValidException("ID '" + id + "' not of type " + idType);
         }
+        // properties loaded from a table were validated when written, and are left encoded
+        if (properties instanceof LazyProperties) return;
         properties.entrySet().stream().forEach(entry -> {
             validateProperty(labelMetadata, entry.getKey(), entry.getValue());
         });
@@ -719,8 +968,13 @@ public class HBaseGraph implements Graph {
 
     @VisibleForTesting
     protected void close(boolean clear) {
+        if (this.flushTask != null) {
+            this.flushTask.cancel(false);
+        }
+        this.staleIndexSweeper.close();
         this.edgeModel.close(clear);
         this.edgeIndexModel.close(clear);
+        this.edgeGlobalIndexModel.close(clear);
         this.vertexModel.close(clear);
         this.vertexIndexModel.close(clear);
         this.indexMetadataModel.close(clear);
@@ -730,6 +984,7 @@ public class HBaseGraph implements Graph {
         if (this.labelConnectionModel != null) {
             this.labelConnectionModel.close(clear);
         }
+        this.propertyKeyModel.close(clear);
     }
 
     @VisibleForTesting
@@ -37,6 +37,7 @@ public class HBaseGraphConfiguration extends AbstractConfiguration {
         public static final String RELATIONSHIP_CACHE_MAX_SIZE     = "gremlin.hbase.relationshipCacheMaxSize";
         public static final String RELATIONSHIP_CACHE_TTL_SECS     = "gremlin.hbase.relationshipCacheTtlSecs";
         public static final String LAZY_LOADING                    = "gremlin.hbase.lazyLoading";
+        public static final String MULTI_GET_BATCH_SIZE            = "gremlin.hbase.multiGetBatchSize";
         public static final String USE_SCHEMA                      = "gremlin.hbase.useSchema";
 
         /* How often to refresh the schema cache */
@@ -45,6 +46,42 @@ public class HBaseGraphConfiguration extends AbstractConfiguration {
         public static final String SCHEMA_STATE_CHANGE_DELAY_SECS  = "gremlin.hbase.schemaStateChangeDelaySecs";
         /* How old stale indices have to be in order to delete */
         public static final String STALE_INDEX_EXPIRY_MS           = "gremlin.hbase.staleIndexExpiryMs";
+        /* How many stale indices found by reads can be queued for deletion */
+        public static final String STALE_INDEX_QUEUE_SIZE          = "gremlin.hbase.staleIndexQueueSize";
+        /* How many stale indices to delete per batch */
+        public static final String STALE_INDEX_BATCH_SIZE          = "gremlin.hbase.staleIndexBatchSize";
+        /* How long to wait after a stale index is found before deleting the queued ones */
+        public static final String STALE_INDEX_SWEEP_DELAY_MS      = "gremlin.hbase.staleIndexSweepDelayMs";
+        /* How often to run a full pass over the index tables; 0 disables it */
+        public static final String STALE_INDEX_FULL_SWEEP_INTERVAL_SECS = "gremlin.hbase.staleIndexFullSweepIntervalSecs";
+        /* How many index rows a full pass reads per second; 0 is unlimited */
+        public static final String STALE_INDEX_SWEEP_ROWS_PER_SEC  = "gremlin.hbase.staleIndexSweepRowsPerSec";
+        /* How many salt buckets to populate concurrently when building an index */
+        public static final String INDEX_POPULATE_THREADS          = "gremlin.hbase.indexPopulateThreads";
+        /* How many elements to index in a salt bucket between checkpoints */
+        public static final String INDEX_POPULATE_CHECKPOINT_SIZE  = "gremlin.hbase.indexPopulateCheckpointSize";
+        /* Whether to buffer non-unique writes on the client */
+        public static final String ASYNC_WRITES                    = "gremlin.hbase.asyncWrites";
+        /* How often to flush buffered writes */
+        public static final String ASYNC_FLUSH_INTERVAL_MS         = "gremlin.hbase.asyncFlushIntervalMs";
+        /* How many bytes of writes to buffer per table before flushing */
+        public static final String ASYNC_WRITE_BUFFER_SIZE         = "gremlin.hbase.asyncWriteBufferSize";
+        /* How many worker threads the bulk loader builds mutations on; 0 uses the caller's thread */
+        public static final String BULK_LOADER_THREADS             = "gremlin.hbase.bulkLoaderThreads";
+        /* How many elements can be queued for each bulk loader worker before callers block */
+        public static final String BULK_LOADER_QUEUE_SIZE          = "gremlin.hbase.bulkLoaderQueueSize";
+        /* If set, the directory that the bulk loader writes HFiles to instead of sending puts */
+        public static final String BULK_LOADER_HFILE_DIR           = "gremlin.hbase.bulkLoaderHFileDir";
+        /* How many bytes of cells to buffer per table before writing them to HFiles */
+        public static final String BULK_LOADER_HFILE_BUFFER_SIZE   = "gremlin.hbase.bulkLoaderHFileBufferSize";
+        /* How many incident edges to delete per batch when removing a vertex */
+        public static final String EDGE_REMOVE_BATCH_SIZE          = "gremlin.hbase.edgeRemoveBatchSize";
+        /* Whether addVertex and addEdge skip checking that their ids are new; only for ids known to be new */
+        public static final String UPSERT_ELEMENTS                 = "gremlin.hbase.upsertElements";
+        /* The KryoRegistrator class that registers the classes of KRYO_SERIALIZABLE values; one per JVM */
+        public static final String KRYO_REGISTRATOR                = "gremlin.hbase.kryoRegistrator";
+        /* Whether property keys and labels are replaced with ids from a dictionary; set when the graph is created */
+        public static final String USE_PROPERTY_KEY_DICTIONARY     = "gremlin.hbase.usePropertyKeyDictionary";
 
         public static final String HBASE_SECURITY_AUTHENTICATION   = "hbase.security.authentication";
         public static final String HBASE_CLIENT_KERBEROS_PRINCIPAL = "hbase.client.kerberos.principal";
@@ -195,6 +232,15 @@ public class HBaseGraphConfiguration extends AbstractConfiguration {
         return this;
     }
 
+    public int getMultiGetBatchSize() {
+        return conf.getInt(Keys.MULTI_GET_BATCH_SIZE, 100);
+    }
+
+    public HBaseGraphConfiguration setMultiGetBatchSize(int batchSize) {
+        conf.setProperty(Keys.MULTI_GET_BATCH_SIZE, batchSize);
+        return this;
+    }
+
     public boolean getUseSchema() {
         return conf.getBoolean(Keys.USE_SCHEMA, false);
     }
@@ -231,6 +277,168 @@ public class HBaseGraphConfiguration extends AbstractConfiguration {
         return this;
     }
 
+    public int getStaleIndexQueueSize() {
+        return conf.getInt(Keys.STALE_INDEX_QUEUE_SIZE, 10000);
+    }
+
+    public HBaseGraphConfiguration setStaleIndexQueueSize(int staleIndexQueueSize) {
+        conf.setProperty(Keys.STALE_INDEX_QUEUE_SIZE, staleIndexQueueSize);
+        return this;
+    }
+
+    public int getStaleIndexBatchSize() {
+        return conf.getInt(Keys.STALE_INDEX_BATCH_SIZE, 1000);
+    }
+
+    public HBaseGraphConfiguration setStaleIndexBatchSize(int staleIndexBatchSize) {
+        conf.setProperty(Keys.STALE_INDEX_BATCH_SIZE, staleIndexBatchSize);
+        return this;
+    }
+
+    public long getStaleIndexSweepDelayMs() {
+        return conf.getLong(Keys.STALE_INDEX_SWEEP_DELAY_MS, 100);
+    }
+
+    public HBaseGraphConfiguration setStaleIndexSweepDelayMs(long staleIndexSweepDelayMs) {
+        conf.setProperty(Keys.STALE_INDEX_SWEEP_DELAY_MS, staleIndexSweepDelayMs);
+        return this;
+    }
+
+    public long getStaleIndexFullSweepIntervalSecs() {
+        return conf.getLong(Keys.STALE_INDEX_FULL_SWEEP_INTERVAL_SECS, 0);
+    }
+
+    public HBaseGraphConfiguration setStaleIndexFullSweepIntervalSecs(long staleIndexFullSweepIntervalSecs) {
+        conf.setProperty(Keys.STALE_INDEX_FULL_SWEEP_INTERVAL_SECS, staleIndexFullSweepIntervalSecs);
+        return this;
+    }
+
+    public int getStaleIndexSweepRowsPerSec() {
+        return conf.getInt(Keys.STALE_INDEX_SWEEP_ROWS_PER_SEC, 10000);
+    }
+
+    public HBaseGraphConfiguration setStaleIndexSweepRowsPerSec(int staleIndexSweepRowsPerSec) {
+        conf.setProperty(Keys.STALE_INDEX_SWEEP_ROWS_PER_SEC, staleIndexSweepRowsPerSec);
+        return this;
+    }
+
+    public int getIndexPopulateThreads() {
+        return conf.getInt(Keys.INDEX_POPULATE_THREADS, 4);
+    }
+
+    public HBaseGraphConfiguration setIndexPopulateThreads(int indexPopulateThreads) {
+        conf.setProperty(Keys.INDEX_POPULATE_THREADS, indexPopulateThreads);
+        return this;
+    }
+
+    public int getIndexPopulateCheckpointSize() {
+        return conf.getInt(Keys.INDEX_POPULATE_CHECKPOINT_SIZE, 10000);
+    }
+
+    public HBaseGraphConfiguration setIndexPopulateCheckpointSize(int indexPopulateCheckpointSize) {
+        conf.setProperty(Keys.INDEX_POPULATE_CHECKPOINT_SIZE, indexPopulateCheckpointSize);
+        return this;
+    }
+
+    public boolean getAsyncWrites() {
+        return conf.getBoolean(Keys.ASYNC_WRITES, false);
+    }
+
+    public HBaseGraphConfiguration setAsyncWrites(boolean asyncWrites) {
+        conf.setProperty(Keys.ASYNC_WRITES, asyncWrites);
+        return this;
+    }
+
+    public long getAsyncFlushIntervalMs() {
+        return conf.getLong(Keys.ASYNC_FLUSH_INTERVAL_MS, 1000);
+    }
+
+    public HBaseGraphConfiguration setAsyncFlushIntervalMs(long asyncFlushIntervalMs) {
+        conf.setProperty(Keys.ASYNC_FLUSH_INTERVAL_MS, asyncFlushIntervalMs);
+        return this;
+    }
+
+    public long getAsyncWriteBufferSize() {
+        return conf.getLong(Keys.ASYNC_WRITE_BUFFER_SIZE, 2 * 1024 * 1024);
+    }
+
+    public HBaseGraphConfiguration setAsyncWriteBufferSize(long asyncWriteBufferSize) {
+        conf.setProperty(Keys.ASYNC_WRITE_BUFFER_SIZE, asyncWriteBufferSize);
+        return this;
+    }
+
+    public int getBulkLoaderThreads() {
+        return conf.getInt(Keys.BULK_LOADER_THREADS, 0);
+    }
+
+    public HBaseGraphConfiguration setBulkLoaderThreads(int bulkLoaderThreads) {
+        conf.setProperty(Keys.BULK_LOADER_THREADS, bulkLoaderThreads);
+        return this;
+    }
+
+    public int getBulkLoaderQueueSize() {
+        return conf.getInt(Keys.BULK_LOADER_QUEUE_SIZE, 10000);
+    }
+
+    public HBaseGraphConfiguration setBulkLoaderQueueSize(int bulkLoaderQueueSize) {
+        conf.setProperty(Keys.BULK_LOADER_QUEUE_SIZE, bulkLoaderQueueSize);
+        return this;
+    }
+
+    public String getBulkLoaderHFileDir() {
+        return conf.getString(Keys.BULK_LOADER_HFILE_DIR, null);
+    }
+
+    public HBaseGraphConfiguration setBulkLoaderHFileDir(String bulkLoaderHFileDir) {
+        conf.setProperty(Keys.BULK_LOADER_HFILE_DIR, bulkLoaderHFileDir);
+        return this;
+    }
+
+    public long getBulkLoaderHFileBufferSize() {
+        return conf.getLong(Keys.BULK_LOADER_HFILE_BUFFER_SIZE, 256 * 1024 * 1024);
+    }
+
+    public HBaseGraphConfiguration setBulkLoaderHFileBufferSize(long bulkLoaderHFileBufferSize) {
+        conf.setProperty(Keys.BULK_LOADER_HFILE_BUFFER_SIZE, bulkLoaderHFileBufferSize);
+        return this;
+    }
+
+    public int getEdgeRemoveBatchSize() {
+        return conf.getInt(Keys.EDGE_REMOVE_BATCH_SIZE, 1000);
+    }
+
+    public HBaseGraphConfiguration setEdgeRemoveBatchSize(int batchSize) {
+        conf.setProperty(Keys.EDGE_REMOVE_BATCH_SIZE, batchSize);
+        return this;
+    }
+
+    public boolean getUpsertElements() {
+        return conf.getBoolean(Keys.UPSERT_ELEMENTS, false);
+    }
+
+    public HBaseGraphConfiguration setUpsertElements(boolean upsertElements) {
+        conf.setProperty(Keys.UPSERT_ELEMENTS, upsertElements);
+        return this;
+    }
+
+    public String getKryoRegistrator() {
+        return conf.getString(Keys.KRYO_REGISTRATOR, null);
+    }
+
+    public HBaseGraphConfiguration setKryoRegistrator(Class<? extends KryoRegistrator> registrator) {
+        conf.setProperty(Keys.KRYO_REGISTRATOR, registrator.getName());
+        return this;
+    }
+
+    public boolean getUsePropertyKeyDictionary() {
+        return conf.getBoolean(Keys.USE_PROPERTY_KEY_DICTIONARY, false);
+    }
+
+    public HBaseGraphConfiguration setUsePropertyKeyDictionary(boolean usePropertyKeyDictionary) {
+        conf.setProperty(Keys.USE_PROPERTY_KEY_DICTIONARY, usePropertyKeyDictionary);
+        return this;
+    }
+
     @Override
     public boolean isEmpty() {
         return conf.isEmpty();
@@ -10,6 +10,8 @@ import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.mock.MockConnection;
 import org.apache.hadoop.hbase.io.compress.Compression;
 import org.apache.hadoop.hbase.io.encoding.DataBlockEncoding;
+import org.apache.hadoop.hbase.io.hfile.HFileContext;
+import org.apache.hadoop.hbase.io.hfile.HFileContextBuilder;
 import org.apache.hadoop.hbase.regionserver.BloomType;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.security.UserGroupInformation;
@@ -78,13 +80,20 @@ public final class HBaseGraphUtils {
         return TableName.valueOf(ns, name);
     }
 
-    public static void createTables(HBaseGraphConfiguration config, Connection conn) {
-        if (config.getInstanceType() == HBaseGraphConfiguration.InstanceType.MOCK) return;
+    /*
+     * Creates the tables that don't exist yet.  Returns whether the graph is new, that is, whether
+     * its index metadata table was created.
+     */
+    public static boolean createTables(HBaseGraphConfiguration config, Connection conn) {
+        if (config.getInstanceType() == HBaseGraphConfiguration.InstanceType.MOCK) {
+            return conn instanceof MockConnection
+                    && !((MockConnection) conn).hasTable(getTableName(config, Constants.INDEX_METADATA));
+        }
         Admin admin = null;
         try {
             admin = conn.getAdmin();
             createNamespace(config, admin);
-            createTables(config, admin);
+            return createTables(config, admin);
         } catch (Exception e) {
             throw new HBaseGraphException(e);
         } finally {
@@ -103,17 +112,22 @@ public final class HBaseGraphUtils {
         }
     }
 
-    private static void createTables(HBaseGraphConfiguration config, Admin admin) throws IOException {
+    private static boolean createTables(HBaseGraphConfiguration config, Admin admin) throws IOException {
         createTable(config, admin, Constants.EDGES, config.getEdgeTableTTL());
         createTable(config, admin, Constants.EDGE_INDICES, config.getEdgeTableTTL());
+        createTable(config, admin, Constants.EDGE_GLOBAL_INDICES, config.getEdgeTableTTL());
         createTable(config, admin, Constants.VERTICES, config.getVertexTableTTL());
         createTable(config, admin, Constants.VERTEX_INDICES, config.getVertexTableTTL());
-        createTable(config, admin, Constants.INDEX_METADATA, HConstants.FOREVER);
+        boolean created = createTable(config, admin, Constants.INDEX_METADATA, HConstants.FOREVER);
+        if (config.getUsePropertyKeyDictionary()) {
+            createTable(config, admin, Constants.PROPERTY_KEYS, HConstants.FOREVER);
+        }
+        return created;
     }
 
-    private static void createTable(HBaseGraphConfiguration config, Admin admin, String name, int ttl) throws IOException {
+    private static boolean createTable(HBaseGraphConfiguration config, Admin admin, String name, int ttl) throws IOException {
         TableName tableName = getTableName(config, name);
-        if (admin.tableExists(tableName)) return;
+        if (admin.tableExists(tableName)) return false;
         HTableDescriptor tableDescriptor = new HTableDescriptor(tableName);
         HColumnDescriptor columnDescriptor = new HColumnDescriptor(DEFAULT_FAMILY)
                 .setCompressionType(Compression.Algorithm.valueOf(config.getCompressionAlgorithm().toUpperCase()))
@@ -125,8 +139,41 @@ public final class HBaseGraphUtils {
                 .setBlockCacheEnabled(true)
                 .setTimeToLive(ttl);
         tableDescriptor.addFamily(columnDescriptor);
-        int regionCount = config.getRegionCount();
-        admin.createTable(tableDescriptor, getStartKey(regionCount), getEndKey(regionCount), regionCount);
+        try {
+            admin.createTable(tableDescriptor, getSplitKeys(config.getRegionCount()));
+        } catch (TableExistsException e) {
+            // created by another client in the meantime
+            return false;
+        }
+        return true;
+    }
+
+    /*
+     * The split keys that the tables are created with, dividing the key space evenly into
+     * regionCount regions.
+     */
+    public static byte[][] getSplitKeys(int regionCount) {
+        if (regionCount < 3) {
+            throw new IllegalArgumentException("Must create at least three regions");
+        }
+        byte[] startKey = getStartKey(regionCount);
+        byte[] endKey = getEndKey(regionCount);
+        if (regionCount == 3) {
+            return new byte[][]{startKey, endKey};
+        }
+        return Bytes.split(startKey, endKey, regionCount - 3);
+    }
+
+    /*
+     * The HFile settings of the column family that createTables creates, for writing HFiles
+     * that are bulk loaded into the tables.
+     */
+    public static HFileContext getHFileContext(HBaseGraphConfiguration config) {
+        return new HFileContextBuilder()
+                .withCompression(Compression.Algorithm.valueOf(config.getCompressionAlgorithm().toUpperCase()))
+                .withDataBlockEncoding(DataBlockEncoding.FAST_DIFF)
+                .withBlockSize(32768)
+                .build();
     }
 
     public static void dropTables(HBaseGraphConfiguration config, Connection conn) {
@@ -146,9 +193,11 @@ public final class HBaseGraphUtils {
     private static void dropTables(HBaseGraphConfiguration config, Admin admin) throws IOException {
         dropTable(config, admin, Constants.EDGES);
         dropTable(config, admin, Constants.EDGE_INDICES);
+        dropTable(config, admin, Constants.EDGE_GLOBAL_INDICES);
         dropTable(config, admin, Constants.VERTICES);
         dropTable(config, admin, Constants.VERTEX_INDICES);
         dropTable(config, admin, Constants.INDEX_METADATA);
+        dropTable(config, admin, Constants.PROPERTY_KEYS);
     }
 
     private static void dropTable(HBaseGraphConfiguration config, Admin admin, String name) throws IOException {
@@ -2,8 +2,11 @@ package io.hgraphdb;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterators;
 import io.hgraphdb.models.VertexIndexModel;
 import io.hgraphdb.models.VertexModel;
+import io.hgraphdb.mutators.Mutator;
+import io.hgraphdb.mutators.VertexIndexRemover;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -19,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 public class HBaseVertex extends HBaseElement implements Vertex {
@@ -52,6 +56,14 @@ public class HBaseVertex extends HBaseElement implements Vertex {
         return ElementType.VERTEX;
     }
 
+    @Override
+    public Iterator<IndexMetadata> getIndices(OperationType op) {
+        // the label index lives in the vertex index table alongside the property indices
+        Set<String> keys = getPropertyKeys();
+        keys.add(Constants.LABEL);
+        return graph.getIndices(op, getElementType(), label, keys);
+    }
+
     public Iterator<Edge> getEdgesFromCache(Tuple cacheKey) {
         if (!isCached()) return null;
         List<Edge> edges = edgeCache.getIfPresent(cacheKey);
@@ -69,6 +81,19 @@ public class HBaseVertex extends HBaseElement implements Vertex {
 
     @Override
     public Edge addEdge(final String label, final Vertex inVertex, final Object... keyValues) {
+        return addEdge(label, inVertex, graph.configuration().getUpsertElements(), keyValues);
+    }
+
+    /*
+     * Adds an edge without checking whether one with the same id already exists.  Only for ids
+     * that are known to be new: the index and adjacency rows of an existing edge would not be
+     * removed.  Unique indices are still checked.
+     */
+    public Edge upsertEdge(final String label, final Vertex inVertex, final Object... keyValues) {
+        return addEdge(label, inVertex, true, keyValues);
+    }
+
+    private Edge addEdge(final String label, final Vertex inVertex, boolean upsert, final Object[] keyValues) {
         if (null == inVertex) throw Graph.Exceptions.argumentCanNotBeNull("inVertex");
         ElementHelper.validateLabel(label);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
@@ -76,9 +101,10 @@ public class HBaseVertex extends HBaseElement implements Vertex {
 
         idValue = HBaseGraphUtils.generateIdIfNeeded(idValue);
         long now = System.currentTimeMillis();
-        HBaseEdge newEdge = new HBaseEdge(graph, idValue, label, now, now, HBaseGraphUtils.propertiesToMap(keyValues), inVertex, this);
+        Map<String, Object> properties = HBaseGraphUtils.propertiesToMap(keyValues);
+        HBaseEdge newEdge = new HBaseEdge(graph, idValue, label, now, now, properties, inVertex, this);
         newEdge.writeEdgeEndpoints();
-        newEdge.writeToModel();
+        newEdge.writeToModel(upsert);
 
         invalidateEdgeCache();
         if (!isCached()) {
@@ -91,21 +117,61 @@ public class HBaseVertex extends HBaseElement implements Vertex {
             if (cachedInVertex != null) cachedInVertex.invalidateEdgeCache();
         }
 
+        if (upsert) {
+            // a cached edge may hold other properties, so it is replaced by one loaded on first use
+            graph.invalidateEdge(idValue);
+            newEdge = new HBaseEdge(graph, idValue, label, now, now, properties, false, inVertex, this);
+        }
         Edge edge = graph.findOrCreateEdge(idValue);
         ((HBaseEdge) edge).copyFrom(newEdge);
         return edge;
     }
 
+    @Override
+    public void setProperty(String key, Object value) {
+        ElementHelper.validateProperty(key, value);
+        graph.validateProperty(getElementType(), label, key, value);
+
+        // composite indices are rewritten whenever one of their keys changes
+        List<IndexMetadata> compositeIndices = getCompositeIndices(key);
+        Object oldValue = compositeIndices.isEmpty() ? null : getProperty(key);
+        boolean changed = oldValue == null || !oldValue.equals(value);
+        if (changed) {
+            compositeIndices.stream().filter(this::coversIndex)
+                    .forEach(index -> getIndexModel().deleteVertexIndex(this, index, null));
+        }
+
+        super.setProperty(key, value);
+
+        if (changed) {
+            compositeIndices.stream().filter(this::coversIndex)
+                    .forEach(index -> getIndexModel().writeVertexIndex(this, index));
+        }
+    }
+
+    @Override
+    public <V> V removeProperty(String key) {
+        if (getProperty(key) != null) {
+            getCompositeIndices(key).stream().filter(this::coversIndex)
+                    .forEach(index -> getIndexModel().deleteVertexIndex(this, index, null));
+        }
+        return super.removeProperty(key);
+    }
+
+    private List<IndexMetadata> getCompositeIndices(String key) {
+        return IteratorUtils.list(IteratorUtils.filter(graph.getIndices(OperationType.WRITE, getElementType()),
+                index -> index.isComposite() && index.label().equals(label) && index.propertyKeys().contains(key)));
+    }
+
+    private boolean coversIndex(IndexMetadata index) {
+        return getPropertyKeys().containsAll(index.propertyKeys());
+    }
+
     @Override
     public void remove() {
-        // Remove edges incident to this vertex.
-        edges(Direction.BOTH).forEachRemaining(edge -> {
-            try {
-                edge.remove();
-            } catch (HBaseGraphNotFoundException e) {
-                // ignore
-            }
-        });
+        // Remove edges incident to this vertex in batches.
+        int batchSize = graph.configuration().getEdgeRemoveBatchSize();
+        Iterators.partition(edges(Direction.BOTH), batchSize).forEachRemaining(this::removeEdges);
 
         // Get rid of the vertex.
         deleteFromModel();
@@ -118,6 +184,24 @@ public class HBaseVertex extends HBaseElement implements Vertex {
         }
     }
 
+    private void removeEdges(List<Edge> edges) {
+        // load the edges that are needed to find their indices with a single multi-get,
+        // skipping those that no longer exist
+        List<Edge> existing = graph.getEdgeModel().load(edges);
+        graph.getEdgeModel().deleteEdges(existing);
+        graph.getEdgeIndexModel().deleteEdgeEndpoints(existing);
+        graph.getEdgeGlobalIndexModel().deleteEdgeIndices(existing);
+
+        for (Edge edge : existing) {
+            HBaseEdge hbaseEdge = (HBaseEdge) edge;
+            hbaseEdge.setDeleted(true);
+            if (!hbaseEdge.isCached()) {
+                HBaseEdge cachedEdge = (HBaseEdge) graph.findEdge(edge.id(), false);
+                if (cachedEdge != null) cachedEdge.setDeleted(true);
+            }
+        }
+    }
+
     @Override
     public <V> VertexProperty<V> property(final VertexProperty.Cardinality cardinality, final String key, final V value, final Object... keyValues) {
         if (cardinality != VertexProperty.Cardinality.single)
@@ -148,6 +232,18 @@ public class HBaseVertex extends HBaseElement implements Vertex {
         return graph.getEdgeIndexModel().edges(this, direction, edgeLabels);
     }
 
+    public Iterator<Edge> edges(final Direction direction, final int limit, final String... edgeLabels) {
+        return graph.getEdgeIndexModel().edges(this, direction, limit, edgeLabels);
+    }
+
+    public long edgeCount(final Direction direction, final String... edgeLabels) {
+        return graph.getEdgeIndexModel().countEdges(this, direction, edgeLabels);
+    }
+
+    public long edgeCount(final Direction direction, final String label, final String key, final Object value) {
+        return graph.getEdgeIndexModel().countEdges(this, direction, label, key, value);
+    }
+
     public Iterator<Edge> edges(final Direction direction, final String label, final String key, final Object value) {
         return graph.getEdgeIndexModel().edges(this, direction, label, key, value);
     }
@@ -171,6 +267,10 @@ public class HBaseVertex extends HBaseElement implements Vertex {
         return graph.getEdgeIndexModel().vertices(this, direction, label, key, inclusiveFromValue, exclusiveToValue);
     }
 
+    public Iterator<Vertex> adjacentVertices(final Iterator<Edge> edges) {
+        return graph.getEdgeIndexModel().adjacentVertices(this, edges);
+    }
+
     @Override
     public VertexModel getModel() {
         return graph.getVertexModel();
@@ -183,7 +283,11 @@ public class HBaseVertex extends HBaseElement implements Vertex {
 
     @Override
     public void writeToModel() {
-        getModel().writeVertex(this);
+        writeToModel(false);
+    }
+
+    public void writeToModel(boolean upsert) {
+        getModel().writeVertex(this, upsert);
     }
 
     @Override
@@ -213,6 +317,26 @@ public class HBaseVertex extends HBaseElement implements Vertex {
         getIndexModel().deleteVertexIndex(this, key, ts);
     }
 
+    @Override
+    public VertexIndexModel getIndexModel(String key) {
+        return getIndexModel();
+    }
+
+    @Override
+    public Mutator getIndexRemover(String key, Long ts) {
+        return new VertexIndexRemover(graph, this, key, ts);
+    }
+
+    @Override
+    public void writeToIndexModel(List<IndexMetadata> indices) {
+        getIndexModel().writeVertexIndex(this, indices);
+    }
+
+    @Override
+    public void deleteFromIndexModel(List<IndexMetadata> indices, Long ts) {
+        getIndexModel().deleteVertexIndex(this, indices, ts);
+    }
+
     @Override
     public void removeStaleIndices() {
         deleteFromIndexModel(getIndexTs());
@@ -0,0 +1,151 @@
+package io.hgraphdb;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.KeyValueUtil;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.io.hfile.CacheConfig;
+import org.apache.hadoop.hbase.io.hfile.HFileContext;
+import org.apache.hadoop.hbase.regionserver.BloomType;
+import org.apache.hadoop.hbase.regionserver.StoreFile;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * A BufferedMutator that writes puts to sorted HFiles instead of sending them to the region
+ * servers.  Cells are buffered per region, using the split keys that createTables creates the
+ * table with.  When the buffer is full, and on close, the cells of each region are sorted and
+ * written to a new HFile under <dir>/<namespace>/<table>/<family>, the layout that
+ * LoadIncrementalHFiles expects.
+ */
+final class HFileMutator implements BufferedMutator {
+
+    private final TableName name;
+    private final Configuration conf;
+    private final FileSystem fs;
+    private final Path familyDir;
+    private final CacheConfig cacheConfig;
+    private final HFileContext context;
+    private final byte[][] splitKeys;
+    private final List<List<Cell>> regions;
+    private final long bufferSize;
+    private long bufferedSize = 0;
+
+    HFileMutator(HBaseGraphConfiguration config, TableName name, Path dir) throws IOException {
+        this.name = name;
+        this.conf = config.toHBaseConfiguration();
+        this.familyDir = new Path(getTableDir(dir, name), Constants.DEFAULT_FAMILY);
+        this.fs = familyDir.getFileSystem(conf);
+        // Don't cache the blocks of files that are only written
+        Configuration cacheConf = new Configuration(conf);
+        cacheConf.setFloat(HConstants.HFILE_BLOCK_CACHE_SIZE_KEY, 0.0f);
+        this.cacheConfig = new CacheConfig(cacheConf);
+        this.context = HBaseGraphUtils.getHFileContext(config);
+        this.splitKeys = HBaseGraphUtils.getSplitKeys(config.getRegionCount());
+        this.regions = new ArrayList<>(splitKeys.length + 1);
+        for (int i = 0; i <= splitKeys.length; i++) {
+            regions.add(new ArrayList<>());
+        }
+        this.bufferSize = config.getBulkLoaderHFileBufferSize();
+    }
+
+    static Path getTableDir(Path dir, TableName name) {
+        return new Path(new Path(dir, name.getNamespaceAsString()), name.getQualifierAsString());
+    }
+
+    @Override
+    public TableName getName() {
+        return name;
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        return conf;
+    }
+
+    @Override
+    public synchronized void mutate(Mutation mutation) throws IOException {
+        if (!(mutation instanceof Put)) {
+            throw new HBaseGraphException("Only puts can be written to HFiles: " + mutation);
+        }
+        byte[] now = Bytes.toBytes(System.currentTimeMillis());
+        List<Cell> cells = regions.get(getRegion(mutation.getRow()));
+        for (List<Cell> familyCells : mutation.getFamilyCellMap().values()) {
+            for (Cell cell : familyCells) {
+                KeyValue kv = KeyValueUtil.ensureKeyValue(cell);
+                kv.updateLatestStamp(now);
+                cells.add(kv);
+                bufferedSize += kv.heapSize();
+            }
+        }
+        if (bufferedSize >= bufferSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public synchronized void mutate(List<? extends Mutation> mutations) throws IOException {
+        for (Mutation mutation : mutations) {
+            mutate(mutation);
+        }
+    }
+
+    /*
+     * The index of the region whose key range contains the row.
+     */
+    private int getRegion(byte[] row) {
+        int i = Arrays.binarySearch(splitKeys, row, Bytes.BYTES_COMPARATOR);
+        return i >= 0 ? i + 1 : -(i + 1);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        for (List<Cell> cells : regions) {
+            if (cells.isEmpty()) continue;
+            cells.sort(KeyValue.COMPARATOR);
+            write(cells);
+            cells.clear();
+        }
+        bufferedSize = 0;
+    }
+
+    private void write(List<Cell> cells) throws IOException {
+        StoreFile.Writer writer = new StoreFile.WriterBuilder(conf, cacheConfig, fs)
+                .withOutputDir(familyDir)
+                .withBloomType(BloomType.ROW)
+                .withComparator(KeyValue.COMPARATOR)
+                .withFileContext(context)
+                .build();
+        try {
+            for (Cell cell : cells) {
+                writer.append(cell);
+            }
+            writer.appendFileInfo(StoreFile.BULKLOAD_TIME_KEY, Bytes.toBytes(System.currentTimeMillis()));
+            writer.appendFileInfo(StoreFile.MAJOR_COMPACTION_KEY, Bytes.toBytes(false));
+            writer.appendTrackedTimestampsToMetadata();
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    @Override
+    public long getWriteBufferSize() {
+        return bufferSize;
+    }
+}
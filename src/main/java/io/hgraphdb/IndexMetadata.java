@@ -1,17 +1,33 @@
 package io.hgraphdb;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public class IndexMetadata {
 
+    /**
+     * Separates the property keys of a composite index within its property key.
+     */
+    public static final String COMPOSITE_KEY_SEPARATOR = "\u001F";
+
     private final Key key;
     private boolean isUnique;
+    private boolean isGlobal;
     private State state;
     protected Long createdAt;
     protected Long updatedAt;
 
     public IndexMetadata(ElementType type, String label, String propertyKey,
                          boolean isUnique, State state, Long createdAt, Long updatedAt) {
+        this(type, label, propertyKey, isUnique, false, state, createdAt, updatedAt);
+    }
+
+    public IndexMetadata(ElementType type, String label, String propertyKey,
+                         boolean isUnique, boolean isGlobal, State state, Long createdAt, Long updatedAt) {
         this.key = new Key(type, label, propertyKey);
         this.isUnique = isUnique;
+        this.isGlobal = isGlobal;
         this.state = state;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
@@ -33,10 +49,26 @@ public class IndexMetadata {
         return key.propertyKey();
     }
 
+    public List<String> propertyKeys() {
+        return key.propertyKeys();
+    }
+
+    public boolean isComposite() {
+        return key.isComposite();
+    }
+
     public boolean isUnique() {
         return isUnique;
     }
 
+    /**
+     * Whether an edge index spans the whole graph rather than the edges of a single vertex.
+     * Vertex indices are always global.
+     */
+    public boolean isGlobal() {
+        return isGlobal;
+    }
+
     public State state() {
         return state;
     }
@@ -81,11 +113,13 @@ public class IndexMetadata {
         private final ElementType type;
         private final String label;
         private final String propertyKey;
+        private final List<String> propertyKeys;
 
         public Key(ElementType type, String label, String propertyKey) {
             this.type = type;
             this.label = label;
             this.propertyKey = propertyKey;
+            this.propertyKeys = splitPropertyKey(propertyKey);
         }
 
         public ElementType type() {
@@ -100,9 +134,17 @@ public class IndexMetadata {
             return propertyKey;
         }
 
+        public List<String> propertyKeys() {
+            return propertyKeys;
+        }
+
+        public boolean isComposite() {
+            return propertyKeys.size() > 1;
+        }
+
         @Override
         public String toString() {
-            return type + " INDEX " + " " + label + "(" + propertyKey() + ")";
+            return type + " INDEX " + " " + label + "(" + String.join(", ", propertyKeys) + ")";
         }
 
         @Override
@@ -126,6 +168,16 @@ public class IndexMetadata {
         }
     }
 
+    public static String joinPropertyKeys(List<String> propertyKeys) {
+        return String.join(COMPOSITE_KEY_SEPARATOR, propertyKeys);
+    }
+
+    public static List<String> splitPropertyKey(String propertyKey) {
+        return propertyKey.contains(COMPOSITE_KEY_SEPARATOR)
+                ? Collections.unmodifiableList(Arrays.asList(propertyKey.split(COMPOSITE_KEY_SEPARATOR)))
+                : Collections.singletonList(propertyKey);
+    }
+
     public enum State {
         CREATED,
         BUILDING,
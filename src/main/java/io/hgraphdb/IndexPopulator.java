@@ -0,0 +1,120 @@
+package io.hgraphdb;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.hgraphdb.models.ElementModel;
+import io.hgraphdb.mutators.Creator;
+import io.hgraphdb.mutators.EdgeGlobalIndexWriter;
+import io.hgraphdb.mutators.EdgeIndexWriter;
+import io.hgraphdb.mutators.IndexProgressWriter;
+import io.hgraphdb.mutators.Mutators;
+import io.hgraphdb.mutators.VertexIndexWriter;
+import io.hgraphdb.readers.ElementReader;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Populates an index from the existing elements.  The work is split by salt bucket and the buckets
+ * are run on a pool of worker threads.  Each bucket writes through its own BufferedMutator and
+ * periodically checkpoints the last row it has indexed in the index metadata table, so that an
+ * interrupted population can be resumed without starting over.
+ */
+final class IndexPopulator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexPopulator.class);
+
+    private final HBaseGraph graph;
+    private final IndexMetadata index;
+    private final boolean isLabelIndex;
+
+    IndexPopulator(HBaseGraph graph, IndexMetadata index) {
+        this.graph = graph;
+        this.index = index;
+        this.isLabelIndex = index.propertyKey().equals(Constants.LABEL);
+    }
+
+    /*
+     * Populates the buckets that have not been checkpointed as done, completing when all have finished.
+     */
+    CompletableFuture<Void> populate() {
+        Map<Integer, byte[]> progress = graph.getIndexMetadataModel().indexProgress(index.key());
+        ExecutorService pool = Executors.newFixedThreadPool(graph.configuration().getIndexPopulateThreads(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("hbase-index-populator-%d").build());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int bucket = 0; bucket < ValueUtils.DEFAULT_NUM_BUCKETS; bucket++) {
+            final int b = bucket;
+            final byte[] lastRow = progress.get(bucket);
+            if (lastRow != null && lastRow.length == 0) continue;
+            futures.add(CompletableFuture.runAsync(() -> populateBucket(b, lastRow), pool));
+        }
+        pool.shutdown();
+        LOGGER.info("Populating {} in {} buckets", index, futures.size());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
+    }
+
+    private void populateBucket(int bucket, byte[] lastRow) {
+        HBaseGraphConfiguration config = graph.configuration();
+        boolean isVertex = index.type() == ElementType.VERTEX;
+        ElementModel model = isVertex ? graph.getVertexModel() : graph.getEdgeModel();
+        String elementTable = isVertex ? Constants.VERTICES : Constants.EDGES;
+        String indexTable = isVertex ? Constants.VERTEX_INDICES
+                : index.isGlobal() ? Constants.EDGE_GLOBAL_INDICES : Constants.EDGE_INDICES;
+        int checkpointSize = config.getIndexPopulateCheckpointSize();
+        ElementReader<?> reader = model.getReader();
+
+        try (Table elements = graph.connection().getTable(HBaseGraphUtils.getTableName(config, elementTable));
+             Table indices = graph.connection().getTable(HBaseGraphUtils.getTableName(config, indexTable));
+             Table metadata = graph.connection().getTable(HBaseGraphUtils.getTableName(config, Constants.INDEX_METADATA));
+             BufferedMutator mutator = graph.connection().getBufferedMutator(
+                     new BufferedMutatorParams(HBaseGraphUtils.getTableName(config, indexTable)));
+             ResultScanner scanner = elements.getScanner(model.getBucketScan(index.label(), bucket, lastRow))) {
+            int count = 0;
+            for (Result result : scanner) {
+                Element element = reader.parse(result);
+                if (isLabelIndex || element.keys().containsAll(index.propertyKeys())) {
+                    Creator creator = indexWriter(element);
+                    if (index.isUnique()) {
+                        Mutators.create(indices, creator);
+                    } else {
+                        mutator.mutate(IteratorUtils.list(creator.constructInsertions()));
+                    }
+                }
+                if (++count % checkpointSize == 0) {
+                    mutator.flush();
+                    Mutators.write(metadata, new IndexProgressWriter(graph, index.key(), bucket, result.getRow()));
+                }
+            }
+            mutator.flush();
+            Mutators.write(metadata, new IndexProgressWriter(graph, index.key(), bucket, null));
+            LOGGER.debug("Populated {} for bucket {}, elements: {}", index, bucket, count);
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    private Creator indexWriter(Element element) {
+        if (index.type() == ElementType.VERTEX) {
+            return new VertexIndexWriter(graph, (Vertex) element, IteratorUtils.of(index), null);
+        } else if (index.isGlobal()) {
+            return new EdgeGlobalIndexWriter(graph, (Edge) element, IteratorUtils.of(index), null);
+        } else {
+            return new EdgeIndexWriter(graph, (Edge) element, IteratorUtils.of(index), null);
+        }
+    }
+}
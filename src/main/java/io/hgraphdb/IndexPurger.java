@@ -0,0 +1,129 @@
+package io.hgraphdb;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.hgraphdb.models.EdgeIndexModel;
+import io.hgraphdb.mutators.IndexProgressWriter;
+import io.hgraphdb.mutators.Mutators;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/*
+ * Deletes the rows of a dropped index.  Vertex indices and global edge indices are deleted by scanning
+ * the key prefix of the index.  The rows of a vertex-specific edge index are spread across the vertices,
+ * so the edge index table is scanned with a row filter, one salt bucket at a time, on a pool of worker
+ * threads.  Each scan periodically checkpoints the last row it has deleted in the index metadata table,
+ * so that an interrupted purge can be resumed without starting over.
+ */
+final class IndexPurger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexPurger.class);
+
+    private final HBaseGraph graph;
+    private final IndexMetadata index;
+
+    IndexPurger(HBaseGraph graph, IndexMetadata index) {
+        this.graph = graph;
+        this.index = index;
+    }
+
+    /*
+     * Purges the buckets that have not been checkpointed as done, completing when all have finished.
+     */
+    CompletableFuture<Void> purge() {
+        Map<Integer, byte[]> progress = graph.getIndexMetadataModel().purgeProgress(index.key());
+        boolean isSalted = index.type() == ElementType.EDGE && !index.isGlobal();
+        int buckets = isSalted ? ValueUtils.DEFAULT_NUM_BUCKETS : 1;
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(buckets, graph.configuration().getIndexPopulateThreads()),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("hbase-index-purger-%d").build());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            final int b = bucket;
+            final byte[] lastRow = progress.get(bucket);
+            if (lastRow != null && lastRow.length == 0) continue;
+            futures.add(CompletableFuture.runAsync(() -> {
+                if (isSalted) {
+                    purgeBucket(b, lastRow);
+                } else {
+                    purgePrefix(lastRow);
+                }
+            }, pool));
+        }
+        pool.shutdown();
+        LOGGER.info("Purging {} in {} buckets", index, futures.size());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
+    }
+
+    private void purgePrefix(byte[] lastRow) {
+        boolean isVertex = index.type() == ElementType.VERTEX;
+        byte[] prefix = isVertex
+                ? graph.getVertexIndexModel().serializeIndexPrefix(index.label(), index.isUnique(), index.propertyKey())
+                : graph.getEdgeGlobalIndexModel().serializeIndexPrefix(index.label(), index.isUnique(), index.propertyKey());
+        Scan scan = new Scan();
+        scan.setRowPrefixFilter(prefix);
+        if (lastRow != null) {
+            scan.setStartRow(Bytes.add(lastRow, new byte[] { 0 }));
+        }
+        scan.setFilter(new FilterList(new FirstKeyOnlyFilter(), new KeyOnlyFilter()));
+        purge(isVertex ? Constants.VERTEX_INDICES : Constants.EDGE_GLOBAL_INDICES, 0, scan, row -> true);
+    }
+
+    private void purgeBucket(int bucket, byte[] lastRow) {
+        EdgeIndexModel model = graph.getEdgeIndexModel();
+        Scan scan = new Scan();
+        scan.setStartRow(lastRow != null ? Bytes.add(lastRow, new byte[] { 0 }) : new byte[] { (byte) bucket });
+        if (bucket < ValueUtils.DEFAULT_NUM_BUCKETS - 1) {
+            scan.setStopRow(new byte[] { (byte) (bucket + 1) });
+        }
+        scan.setFilter(new FilterList(model.getIndexRowFilter(index.propertyKey(), index.label()),
+                new FirstKeyOnlyFilter(), new KeyOnlyFilter()));
+        purge(Constants.EDGE_INDICES, bucket, scan,
+                row -> model.isIndexRow(row, index.propertyKey(), index.label()));
+    }
+
+    private void purge(String indexTable, int bucket, Scan scan, Predicate<byte[]> isIndexRow) {
+        HBaseGraphConfiguration config = graph.configuration();
+        int checkpointSize = config.getIndexPopulateCheckpointSize();
+
+        try (Table indices = graph.connection().getTable(HBaseGraphUtils.getTableName(config, indexTable));
+             Table metadata = graph.connection().getTable(HBaseGraphUtils.getTableName(config, Constants.INDEX_METADATA));
+             BufferedMutator mutator = graph.connection().getBufferedMutator(
+                     new BufferedMutatorParams(HBaseGraphUtils.getTableName(config, indexTable)));
+             ResultScanner scanner = indices.getScanner(scan)) {
+            int count = 0;
+            for (Result result : scanner) {
+                byte[] row = result.getRow();
+                if (!isIndexRow.test(row)) continue;
+                mutator.mutate(new Delete(row));
+                if (++count % checkpointSize == 0) {
+                    mutator.flush();
+                    Mutators.write(metadata, new IndexProgressWriter(graph, index.key(), Constants.PURGE_PROGRESS_BYTES, bucket, row));
+                }
+            }
+            mutator.flush();
+            Mutators.write(metadata, new IndexProgressWriter(graph, index.key(), Constants.PURGE_PROGRESS_BYTES, bucket, null));
+            LOGGER.debug("Purged {} for bucket {}, rows: {}", index, bucket, count);
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+}
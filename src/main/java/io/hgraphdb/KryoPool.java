@@ -0,0 +1,97 @@
+package io.hgraphdb;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.apache.hadoop.hbase.util.Order;
+import org.apache.hadoop.hbase.util.OrderedBytes;
+import org.apache.hadoop.hbase.util.PositionedByteRange;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/*
+ * A thread-safe pool of Kryo instances, each kept with the output and input buffers it writes
+ * to and reads from, so that neither the Kryo nor its buffers are created per value.  The pool
+ * grows to the number of threads using it concurrently.
+ */
+public final class KryoPool {
+
+    private static final int OUTPUT_SIZE = 4096;
+    /* Larger output buffers are discarded after use rather than kept in the pool */
+    private static final int MAX_RETAINED_OUTPUT_SIZE = 65536;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final KryoRegistrator registrator;
+    private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+    private static final class Entry {
+        final Kryo kryo;
+        Output output = new Output(OUTPUT_SIZE, -1);
+        final Input input = new Input();
+
+        Entry(Kryo kryo) {
+            this.kryo = kryo;
+        }
+    }
+
+    public KryoPool() {
+        this(null);
+    }
+
+    public KryoPool(KryoRegistrator registrator) {
+        this.registrator = registrator;
+    }
+
+    public KryoRegistrator getRegistrator() {
+        return registrator;
+    }
+
+    /*
+     * Writes the object, with its class, to the buffer as a blob.
+     */
+    public void write(PositionedByteRange buffer, Object o, Order order) {
+        Entry entry = acquire();
+        try {
+            Output output = entry.output;
+            output.clear();
+            entry.kryo.writeClassAndObject(output, o);
+            OrderedBytes.encodeBlobVar(buffer, output.getBuffer(), 0, output.position(), order);
+            if (output.getBuffer().length > MAX_RETAINED_OUTPUT_SIZE) {
+                entry.output = new Output(OUTPUT_SIZE, -1);
+            }
+        } finally {
+            entries.offer(entry);
+        }
+    }
+
+    public Object read(byte[] blob) {
+        Entry entry = acquire();
+        try {
+            entry.input.setBuffer(blob);
+            return entry.kryo.readClassAndObject(entry.input);
+        } finally {
+            entry.input.setBuffer(EMPTY);
+            entries.offer(entry);
+        }
+    }
+
+    private Entry acquire() {
+        Entry entry = entries.poll();
+        return entry != null ? entry : new Entry(create());
+    }
+
+    private Kryo create() {
+        Kryo kryo = new Kryo();
+        if (registrator != null) registrator.registerClasses(kryo);
+        return kryo;
+    }
+
+    public static KryoRegistrator newRegistrator(String className) {
+        try {
+            return Class.forName(className).asSubclass(KryoRegistrator.class).newInstance();
+        } catch (ClassNotFoundException | ClassCastException | InstantiationException | IllegalAccessException e) {
+            throw new HBaseGraphException("Could not create Kryo registrator " + className, e);
+        }
+    }
+}
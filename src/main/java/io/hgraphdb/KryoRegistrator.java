@@ -0,0 +1,13 @@
+package io.hgraphdb;
+
+import com.esotericsoftware.kryo.Kryo;
+
+/*
+ * Registers classes with each Kryo instance used for KRYO_SERIALIZABLE values, so that they are
+ * written with a small id rather than their class name.  Every client of a graph must register
+ * the same classes in the same order, or values written by one cannot be read by another.
+ */
+public interface KryoRegistrator {
+
+    void registerClasses(Kryo kryo);
+}
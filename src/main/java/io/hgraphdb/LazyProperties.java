@@ -0,0 +1,127 @@
+package io.hgraphdb;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * The properties of an element, holding the encoded bytes of values loaded from a table until
+ * they are first read.  A value is then decoded and kept, so that reading one property does not
+ * decode the others, and cached elements hold compact byte arrays for the values never read.
+ */
+public final class LazyProperties extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> values;
+
+    public LazyProperties() {
+        this.values = new ConcurrentHashMap<>();
+    }
+
+    /*
+     * Copies the given properties, leaving values that are still encoded undecoded.
+     */
+    public LazyProperties(Map<String, Object> properties) {
+        this.values = properties instanceof LazyProperties
+                ? new ConcurrentHashMap<>(((LazyProperties) properties).values)
+                : new ConcurrentHashMap<>(properties);
+    }
+
+    public void putEncoded(String key, byte[] bytes) {
+        values.put(key, new Encoded(bytes));
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = values.get(key);
+        if (!(value instanceof Encoded)) return value;
+        Object decoded = ((Encoded) value).decode();
+        if (decoded != null) values.replace((String) key, value, decoded);
+        return decoded;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return values.containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return decode(values.put(key, value));
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return decode(values.remove(key));
+    }
+
+    @Override
+    public void clear() {
+        values.clear();
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return values.keySet();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                Iterator<Entry<String, Object>> it = values.entrySet().iterator();
+                return new Iterator<Entry<String, Object>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        Entry<String, Object> entry = it.next();
+                        Object value = entry.getValue();
+                        if (value instanceof Encoded) {
+                            value = ((Encoded) value).decode();
+                            if (value != null) entry.setValue(value);
+                        }
+                        return new SimpleImmutableEntry<>(entry.getKey(), value);
+                    }
+
+                    @Override
+                    public void remove() {
+                        it.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return values.size();
+            }
+        };
+    }
+
+    private static Object decode(Object value) {
+        return value instanceof Encoded ? ((Encoded) value).decode() : value;
+    }
+
+    private static final class Encoded {
+        private final byte[] bytes;
+
+        Encoded(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        Object decode() {
+            return ValueUtils.deserialize(bytes);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package io.hgraphdb;
+
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.hgraphdb.models.BaseModel;
+import io.hgraphdb.models.EdgeGlobalIndexModel;
+import io.hgraphdb.models.EdgeIndexModel;
+import io.hgraphdb.models.ElementModel;
+import io.hgraphdb.models.VertexIndexModel;
+import io.hgraphdb.mutators.Mutator;
+import io.hgraphdb.mutators.Mutators;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/*
+ * Removes stale index rows in the background.  Stale rows found by reads are collected in a bounded
+ * queue and deleted in batches, one per index table, shortly after the first of them is found.
+ * A full pass can also be run, either on demand or on a schedule, that scans the index tables,
+ * checks each row against its element, and deletes the rows that no longer match, at a limited
+ * number of rows per second.  The edge index table is scanned one salt bucket at a time.
+ */
+public final class StaleIndexSweeper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StaleIndexSweeper.class);
+
+    private final HBaseGraph graph;
+    private final BlockingQueue<StaleIndex> queue;
+    private final Set<StaleIndex> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+
+    private final LongAdder queuedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder scannedCount = new LongAdder();
+    private final LongAdder deletedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    StaleIndexSweeper(HBaseGraph graph) {
+        this.graph = graph;
+        HBaseGraphConfiguration config = graph.configuration();
+        this.queue = new ArrayBlockingQueue<>(config.getStaleIndexQueueSize());
+        this.executor = Executors.newScheduledThreadPool(2,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("hbase-stale-index-sweeper-%d").build());
+        long interval = config.getStaleIndexFullSweepIntervalSecs();
+        if (interval > 0) {
+            executor.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /*
+     * Queues the index of the given element with the given key and ts for removal.  The index is
+     * dropped if it is already queued or the queue is full; a later read or full pass will find it again.
+     */
+    void add(HBaseElement element, String key, long ts) {
+        StaleIndex staleIndex = new StaleIndex(element, key, ts);
+        if (!pending.add(staleIndex)) return;
+        if (!queue.offer(staleIndex)) {
+            pending.remove(staleIndex);
+            droppedCount.increment();
+            return;
+        }
+        queuedCount.increment();
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                executor.schedule(this::drain, graph.configuration().getStaleIndexSweepDelayMs(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // closed
+            }
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        int batchSize = graph.configuration().getStaleIndexBatchSize();
+        List<StaleIndex> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            Map<BaseModel, List<Mutator>> removers = new LinkedHashMap<>();
+            for (StaleIndex staleIndex : batch) {
+                pending.remove(staleIndex);
+                try {
+                    removers.computeIfAbsent(staleIndex.element.getIndexModel(staleIndex.key), model -> new ArrayList<>())
+                            .add(staleIndex.element.getIndexRemover(staleIndex.key, staleIndex.ts));
+                } catch (Exception e) {
+                    LOGGER.warn("Could not construct delete for stale index", e);
+                    failedCount.increment();
+                }
+            }
+            removers.forEach((model, mutators) -> {
+                try {
+                    Mutators.write(model.getTable(), model.getMutator(), mutators.toArray(new Mutator[mutators.size()]));
+                    deletedCount.add(mutators.size());
+                } catch (Exception e) {
+                    LOGGER.error("Could not delete stale indices", e);
+                    failedCount.add(mutators.size());
+                }
+            });
+            batch.clear();
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            LOGGER.error("Stale index sweep failed", e);
+        }
+    }
+
+    /*
+     * Runs a full pass over the index tables on the caller's thread.
+     */
+    public void sweep() {
+        long start = System.currentTimeMillis();
+        long scanned = scannedCount.sum();
+        long deleted = deletedCount.sum();
+        RateLimit rateLimit = new RateLimit(graph.configuration().getStaleIndexSweepRowsPerSec());
+        try {
+            VertexIndexModel vertexIndexModel = graph.getVertexIndexModel();
+            sweepTable(vertexIndexModel, new Scan(), result -> (HBaseVertex) vertexIndexModel.deserializeUncached(result),
+                    graph.getVertexModel(),
+                    (vertex, key) -> Arrays.asList(
+                            vertexIndexModel.serializeForWrite(vertex, false, key),
+                            vertexIndexModel.serializeForWrite(vertex, true, key)),
+                    rateLimit);
+
+            EdgeIndexModel edgeIndexModel = graph.getEdgeIndexModel();
+            for (int bucket = 0; bucket < ValueUtils.DEFAULT_NUM_BUCKETS; bucket++) {
+                Scan scan = new Scan(new byte[] { (byte) bucket });
+                if (bucket < ValueUtils.DEFAULT_NUM_BUCKETS - 1) {
+                    scan.setStopRow(new byte[] { (byte) (bucket + 1) });
+                }
+                sweepTable(edgeIndexModel, scan, result -> (HBaseEdge) edgeIndexModel.deserializeUncached(result),
+                        graph.getEdgeModel(),
+                        (edge, key) -> Arrays.asList(
+                                edgeIndexModel.serializeForWrite(edge, Direction.OUT, false, key),
+                                edgeIndexModel.serializeForWrite(edge, Direction.IN, false, key),
+                                edgeIndexModel.serializeForWrite(edge, Direction.OUT, true, key),
+                                edgeIndexModel.serializeForWrite(edge, Direction.IN, true, key)),
+                        rateLimit);
+            }
+
+            EdgeGlobalIndexModel edgeGlobalIndexModel = graph.getEdgeGlobalIndexModel();
+            sweepTable(edgeGlobalIndexModel, new Scan(), result -> (HBaseEdge) edgeGlobalIndexModel.deserializeUncached(result),
+                    graph.getEdgeModel(),
+                    (edge, key) -> Arrays.asList(
+                            edgeGlobalIndexModel.serializeForWrite(edge, false, key),
+                            edgeGlobalIndexModel.serializeForWrite(edge, true, key)),
+                    rateLimit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HBaseGraphException(e);
+        }
+        LOGGER.info("Stale index sweep took {} ms, rows scanned: {}, rows deleted: {}",
+                System.currentTimeMillis() - start, scannedCount.sum() - scanned, deletedCount.sum() - deleted);
+    }
+
+    private <E extends HBaseElement> void sweepTable(BaseModel indexModel, Scan scan,
+                                                     Function<Result, ? extends E> parser,
+                                                     ElementModel elementModel,
+                                                     BiFunction<E, String, List<byte[]>> expectedRows,
+                                                     RateLimit rateLimit) throws InterruptedException {
+        int batchSize = graph.configuration().getStaleIndexBatchSize();
+        long expiry = graph.configuration().getStaleIndexExpiryMs();
+        try (ResultScanner scanner = indexModel.getTable().getScanner(scan)) {
+            Iterator<List<Result>> batches = Iterators.partition(scanner.iterator(), batchSize);
+            while (batches.hasNext()) {
+                List<Result> batch = batches.next();
+                rateLimit.acquire(batch.size());
+                scannedCount.add(batch.size());
+
+                // each row is parsed into its own uncached element, which is then read afresh,
+                // so that neither a stale cached element nor the cache itself is involved
+                long now = System.currentTimeMillis();
+                List<Result> rows = new ArrayList<>(batch.size());
+                List<E> elements = new ArrayList<>(batch.size());
+                for (Result result : batch) {
+                    E element = parser.apply(result);
+                    if (element.getIndexTs() + expiry >= now) continue;
+                    rows.add(result);
+                    elements.add(element);
+                }
+
+                Set<E> found = Collections.newSetFromMap(new IdentityHashMap<>());
+                found.addAll(elementModel.reload(elements));
+                List<Mutation> deletes = new ArrayList<>();
+                for (int i = 0; i < rows.size(); i++) {
+                    E element = elements.get(i);
+                    byte[] row = rows.get(i).getRow();
+                    if (!found.contains(element)
+                            || !matches(row, element, element.getIndexKey().propertyKey(), expectedRows)) {
+                        deletes.add(constructDelete(rows.get(i), element.getIndexTs()));
+                    }
+                }
+                if (!deletes.isEmpty()) {
+                    Mutator writer = deletes::iterator;
+                    Mutators.write(indexModel.getTable(), writer);
+                    deletedCount.add(deletes.size());
+                }
+            }
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    private static <E extends HBaseElement> boolean matches(byte[] row, E element, String key,
+                                                            BiFunction<E, String, List<byte[]>> expectedRows) {
+        try {
+            return expectedRows.apply(element, key).stream().anyMatch(expected -> Bytes.equals(row, expected));
+        } catch (IllegalStateException e) {
+            // the element no longer has the property
+            return false;
+        }
+    }
+
+    /*
+     * Deletes the cells of the row up to the given ts, so that a newer index row is left alone.
+     */
+    private static Delete constructDelete(Result result, long ts) {
+        Delete delete = new Delete(result.getRow());
+        for (Cell cell : result.rawCells()) {
+            delete.addColumns(CellUtil.cloneFamily(cell), CellUtil.cloneQualifier(cell), ts);
+        }
+        return delete;
+    }
+
+    /*
+     * The number of stale indices queued by reads.
+     */
+    public long getQueuedCount() {
+        return queuedCount.sum();
+    }
+
+    /*
+     * The number of stale indices not queued because the queue was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /*
+     * The number of index rows checked by full passes.
+     */
+    public long getScannedCount() {
+        return scannedCount.sum();
+    }
+
+    /*
+     * The number of stale index rows deleted, from the queue or by full passes.
+     */
+    public long getDeletedCount() {
+        return deletedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    private static final class StaleIndex {
+        private final HBaseElement element;
+        private final ElementType type;
+        private final ByteBuffer id;
+        private final String key;
+        private final long ts;
+
+        StaleIndex(HBaseElement element, String key, long ts) {
+            this.element = element;
+            this.type = element.getElementType();
+            this.id = ByteBuffer.wrap(ValueUtils.serialize(element.id()));
+            this.key = key;
+            this.ts = ts;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            StaleIndex that = (StaleIndex) o;
+            return ts == that.ts && type == that.type && id.equals(that.id) && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, id, key, ts);
+        }
+    }
+
+    /*
+     * Spreads a full pass out so that no more than the given number of rows are read per second.
+     */
+    private static final class RateLimit {
+        private final int rowsPerSec;
+        private final long start = System.currentTimeMillis();
+        private long rows = 0;
+
+        RateLimit(int rowsPerSec) {
+            this.rowsPerSec = rowsPerSec;
+        }
+
+        void acquire(int count) throws InterruptedException {
+            if (rowsPerSec <= 0) return;
+            long wait = rows * 1000 / rowsPerSec - (System.currentTimeMillis() - start);
+            if (wait > 0) {
+                Thread.sleep(wait);
+            }
+            rows += count;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package io.hgraphdb;
 
-import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.KryoSerializable;
-import com.esotericsoftware.kryo.io.Input;
-import com.esotericsoftware.kryo.io.Output;
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.util.Order;
 import org.apache.hadoop.hbase.util.OrderedBytes;
 import org.apache.hadoop.hbase.util.PositionedByteRange;
@@ -18,12 +17,53 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public final class ValueUtils {
 
     public static final int DEFAULT_NUM_BUCKETS = 256;
 
+    private static final int SCRATCH_SIZE = 4096;
+    /* Larger scratch buffers are discarded after use rather than kept by the thread */
+    private static final int MAX_RETAINED_SCRATCH_SIZE = 65536;
+    /* Beyond this size an encoding that does not fit is assumed to have failed for another reason */
+    private static final int MAX_SCRATCH_SIZE = 64 * 1024 * 1024;
+
+    private static final class Scratch {
+        PositionedByteRange buffer = new SimplePositionedMutableByteRange(SCRATCH_SIZE);
+        boolean inUse;
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private static volatile KryoPool kryoPool = new KryoPool();
+
+    /*
+     * Installs the registrator used by the Kryo instances for KRYO_SERIALIZABLE values.  The
+     * encoding of such values is shared by all graphs in the JVM, so once a registrator has been
+     * installed, installing a different one fails rather than changing the encoding under the
+     * graphs already using it.
+     */
+    public static synchronized void setKryoRegistrator(KryoRegistrator registrator) {
+        KryoRegistrator current = kryoPool.getRegistrator();
+        Class<?> currentClass = current != null ? current.getClass() : null;
+        Class<?> registratorClass = registrator != null ? registrator.getClass() : null;
+        if (Objects.equals(currentClass, registratorClass)) return;
+        if (current != null) {
+            throw new HBaseGraphException("Kryo registrator " + currentClass.getName()
+                    + " is already installed, cannot install " + (registratorClass != null ? registratorClass.getName() : null));
+        }
+        kryoPool = new KryoPool(registrator);
+    }
+
+    @VisibleForTesting
+    static synchronized void resetKryoRegistrator() {
+        kryoPool = new KryoPool();
+    }
+
     public static ValueType getValueType(Object o) {
         if (o == null) {
             return ValueType.NULL;
@@ -75,6 +115,20 @@ public final class ValueUtils {
         return deserialize(buffer);
     }
 
+    /*
+     * Decodes the value of a cell straight from its backing array.
+     */
+    public static <T> T deserializeValue(Cell cell) {
+        if (cell == null) return null;
+        return deserialize(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+    }
+
+    public static <T> T deserialize(byte[] target, int offset, int length) {
+        if (target == null) return null;
+        PositionedByteRange buffer = new SimplePositionedByteRange(target, offset, length);
+        return deserialize(buffer);
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> T deserialize(PositionedByteRange buffer) {
         ValueType type = ValueType.valueOf(OrderedBytes.decodeInt8(buffer));
@@ -127,9 +181,7 @@ public final class ValueUtils {
             case KRYO_SERIALIZABLE:
                 try {
                     byte[] blob = OrderedBytes.decodeBlobVar(buffer);
-                    ByteArrayInputStream bin = new ByteArrayInputStream(blob);
-                    Input input = new Input(bin);
-                    return (T) new Kryo().readClassAndObject(input);
+                    return (T) kryoPool.read(blob);
                 } catch (KryoException e) {
                     throw new RuntimeException("Unexpected error deserializing object.", e);
                 }
@@ -159,13 +211,54 @@ public final class ValueUtils {
     }
 
     public static byte[] serialize(Object o) {
-        PositionedByteRange buffer = new SimplePositionedMutableByteRange(4096);
-        serialize(buffer, o);
-        buffer.setLength(buffer.getPosition());
-        buffer.setPosition(0);
-        byte[] bytes = new byte[buffer.getRemaining()];
-        buffer.get(bytes);
-        return bytes;
+        return encode(buffer -> serialize(buffer, o));
+    }
+
+    /*
+     * Runs the encoder against a per-thread scratch buffer and returns a copy of just the bytes
+     * it wrote, so that the only allocation is the result.  If the encoding does not fit, it is
+     * retried with a buffer twice the size.  A nested call gets a buffer of its own.
+     */
+    public static byte[] encode(Consumer<PositionedByteRange> encoder) {
+        Scratch scratch = SCRATCH.get();
+        if (scratch.inUse) {
+            return encode(encoder, new SimplePositionedMutableByteRange(SCRATCH_SIZE));
+        }
+        scratch.inUse = true;
+        try {
+            PositionedByteRange buffer = scratch.buffer;
+            while (true) {
+                buffer.setPosition(0);
+                try {
+                    encoder.accept(buffer);
+                    break;
+                } catch (IndexOutOfBoundsException e) {
+                    buffer = grow(buffer, e);
+                }
+            }
+            if (buffer.getLength() <= MAX_RETAINED_SCRATCH_SIZE) {
+                scratch.buffer = buffer;
+            }
+            return Arrays.copyOfRange(buffer.getBytes(), buffer.getOffset(), buffer.getOffset() + buffer.getPosition());
+        } finally {
+            scratch.inUse = false;
+        }
+    }
+
+    private static byte[] encode(Consumer<PositionedByteRange> encoder, PositionedByteRange buffer) {
+        while (true) {
+            try {
+                encoder.accept(buffer);
+                return Arrays.copyOf(buffer.getBytes(), buffer.getPosition());
+            } catch (IndexOutOfBoundsException e) {
+                buffer = grow(buffer, e);
+            }
+        }
+    }
+
+    private static PositionedByteRange grow(PositionedByteRange buffer, IndexOutOfBoundsException e) {
+        if (buffer.getLength() >= MAX_SCRATCH_SIZE) throw e;
+        return new SimplePositionedMutableByteRange(buffer.getLength() * 2);
     }
 
     public static void serialize(PositionedByteRange buffer, Object o) {
@@ -227,11 +320,7 @@ public final class ValueUtils {
                 break;
             case KRYO_SERIALIZABLE:
                 try {
-                    ByteArrayOutputStream baos = new ByteArrayOutputStream(32);
-                    Output output = new Output(baos);
-                    new Kryo().writeClassAndObject(output, o);
-                    output.close();
-                    OrderedBytes.encodeBlobVar(buffer, baos.toByteArray(), order);
+                    kryoPool.write(buffer, o, order);
                 } catch (KryoException io) {
                     throw new RuntimeException("Unexpected error serializing object.", io);
                 }
@@ -253,20 +342,19 @@ public final class ValueUtils {
     }
 
     public static byte[] serializeWithSalt(Object o) {
-        PositionedByteRange buffer = new SimplePositionedMutableByteRange(4096);
-        serializeWithSalt(buffer, o);
-        buffer.setLength(buffer.getPosition());
-        buffer.setPosition(0);
-        byte[] bytes = new byte[buffer.getRemaining()];
-        buffer.get(bytes);
-        return bytes;
+        return encode(buffer -> serializeWithSalt(buffer, o));
     }
 
+    /*
+     * Reserves the salt byte, encodes the value after it, and then fills in the salt from the
+     * encoded bytes in place.
+     */
     public static void serializeWithSalt(PositionedByteRange buffer, Object o) {
-        byte[] bytes = serialize(o);
-        byte saltingByte = getSaltingByte(bytes);
-        buffer.put(saltingByte);
-        buffer.put(bytes);
+        int saltPosition = buffer.getPosition();
+        buffer.put((byte) 0);
+        serialize(buffer, o);
+        int start = buffer.getOffset() + saltPosition + 1;
+        buffer.put(saltPosition, getSaltingByte(buffer.getBytes(), start, buffer.getPosition() - saltPosition - 1));
     }
 
     /**
@@ -276,14 +364,18 @@ public final class ValueUtils {
      * @return the salt to prepend to {@code value}
      */
     public static byte getSaltingByte(byte[] value) {
-        int hash = calculateHashCode(value);
+        if (value == null) return 0;
+        return getSaltingByte(value, 0, value.length);
+    }
+
+    private static byte getSaltingByte(byte[] bytes, int offset, int length) {
+        int hash = calculateHashCode(bytes, offset, length);
         return (byte) (Math.abs(hash) % DEFAULT_NUM_BUCKETS);
     }
 
-    private static int calculateHashCode(byte a[]) {
-        if (a == null) return 0;
+    private static int calculateHashCode(byte a[], int offset, int length) {
         int result = 1;
-        for (int i = 0; i < a.length; i++) {
+        for (int i = offset; i < offset + length; i++) {
             result = 31 * result + a[i];
         }
         return result;
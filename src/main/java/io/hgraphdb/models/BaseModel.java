@@ -3,6 +3,7 @@ package io.hgraphdb.models;
 import com.google.common.annotations.VisibleForTesting;
 import io.hgraphdb.HBaseGraph;
 import io.hgraphdb.HBaseGraphException;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
@@ -14,10 +15,17 @@ public abstract class BaseModel {
 
     protected final HBaseGraph graph;
     protected final Table table;
+    /* If not null, non-unique writes are buffered here rather than sent to the table */
+    protected final BufferedMutator mutator;
 
     public BaseModel(HBaseGraph graph, Table table) {
+        this(graph, table, null);
+    }
+
+    public BaseModel(HBaseGraph graph, Table table, BufferedMutator mutator) {
         this.graph = graph;
         this.table = table;
+        this.mutator = mutator;
     }
 
     public HBaseGraph getGraph() {
@@ -28,14 +36,28 @@ public abstract class BaseModel {
         return table;
     }
 
+    public BufferedMutator getMutator() {
+        return mutator;
+    }
+
+    public void flush() {
+        if (mutator == null) return;
+        try {
+            mutator.flush();
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
     public void close() {
         close(false);
     }
 
     @VisibleForTesting
     public void close(boolean clear) {
-        if (clear) clear();
         try {
+            if (mutator != null) mutator.close();
+            if (clear) clear();
             table.close();
         } catch (IOException e) {
             throw new HBaseGraphException(e);
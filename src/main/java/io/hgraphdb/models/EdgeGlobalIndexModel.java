@@ -0,0 +1,226 @@
+package io.hgraphdb.models;
+
+import com.google.common.collect.Iterators;
+import io.hgraphdb.*;
+import io.hgraphdb.mutators.EdgeGlobalIndexRemover;
+import io.hgraphdb.mutators.EdgeGlobalIndexWriter;
+import io.hgraphdb.mutators.Mutator;
+import io.hgraphdb.mutators.Mutators;
+import io.hgraphdb.readers.EdgeGlobalIndexReader;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.PrefixFilter;
+import org.apache.hadoop.hbase.util.*;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Indices on edges that are not specific to a vertex, such as the edge label index
+ * and global edge property indices.
+ */
+public class EdgeGlobalIndexModel extends BaseModel {
+
+    public EdgeGlobalIndexModel(HBaseGraph graph, Table table, BufferedMutator mutator) {
+        super(graph, table, mutator);
+    }
+
+    public void writeEdgeIndex(Edge edge) {
+        long now = System.currentTimeMillis();
+        Iterator<IndexMetadata> indices = ((HBaseEdge) edge).getGlobalIndices(OperationType.WRITE);
+        EdgeGlobalIndexWriter writer = new EdgeGlobalIndexWriter(graph, edge, indices, now);
+        Mutators.create(table, mutator, writer);
+    }
+
+    public void writeEdgeIndex(Edge edge, String key) {
+        EdgeGlobalIndexWriter writer = new EdgeGlobalIndexWriter(graph, edge, key, null);
+        Mutators.create(table, mutator, writer);
+    }
+
+    public void writeEdgeIndex(Edge edge, IndexMetadata index) {
+        EdgeGlobalIndexWriter writer = new EdgeGlobalIndexWriter(graph, edge, IteratorUtils.of(index), null);
+        Mutators.create(table, mutator, writer);
+    }
+
+    public void writeEdgeIndex(Edge edge, List<IndexMetadata> indices) {
+        EdgeGlobalIndexWriter writer = new EdgeGlobalIndexWriter(graph, edge, indices.iterator(), null);
+        Mutators.create(table, mutator, writer);
+    }
+
+    public void deleteEdgeIndex(Edge edge, Long ts) {
+        Iterator<IndexMetadata> indices = ((HBaseEdge) edge).getGlobalIndices(OperationType.WRITE);
+        EdgeGlobalIndexRemover writer = new EdgeGlobalIndexRemover(graph, edge, indices, ts);
+        Mutators.write(table, mutator, writer);
+    }
+
+    /*
+     * Delete the global indices of several edges in a single batch.
+     */
+    public void deleteEdgeIndices(List<Edge> edges) {
+        Mutator[] writers = edges.stream()
+                .map(edge -> new EdgeGlobalIndexRemover(graph, edge, ((HBaseEdge) edge).getGlobalIndices(OperationType.WRITE), null))
+                .toArray(Mutator[]::new);
+        Mutators.write(table, mutator, writers);
+    }
+
+    public void deleteEdgeIndex(Edge edge, List<IndexMetadata> indices, Long ts) {
+        EdgeGlobalIndexRemover writer = new EdgeGlobalIndexRemover(graph, edge, indices.iterator(), ts);
+        Mutators.write(table, mutator, writer);
+    }
+
+    public void deleteEdgeIndex(Edge edge, String key, Long ts) {
+        Mutator writer = new EdgeGlobalIndexRemover(graph, edge, key, ts);
+        Mutators.write(table, mutator, writer);
+    }
+
+    public Iterator<Edge> edges(String label) {
+        return edges(getEdgeIndexScan(label, false, Constants.LABEL, null), edge -> label.equals(edge.label()));
+    }
+
+    public Iterator<Edge> edges(String label, boolean isUnique, String key, Object value) {
+        byte[] valueBytes = ValueUtils.serialize(value);
+        return edges(getEdgeIndexScan(label, isUnique, key, value), edge -> {
+            byte[] propValueBytes = ValueUtils.serialize(edge.getProperty(key));
+            return Bytes.compareTo(propValueBytes, valueBytes) == 0;
+        });
+    }
+
+    public Iterator<Edge> edges(String label, boolean isUnique, String key, Object inclusiveFrom, Object exclusiveTo) {
+        byte[] fromBytes = ValueUtils.serialize(inclusiveFrom);
+        byte[] toBytes = ValueUtils.serialize(exclusiveTo);
+        return edges(getEdgeIndexScan(label, isUnique, key, inclusiveFrom, exclusiveTo), edge -> {
+            byte[] propValueBytes = ValueUtils.serialize(edge.getProperty(key));
+            return Bytes.compareTo(propValueBytes, fromBytes) >= 0
+                    && Bytes.compareTo(propValueBytes, toBytes) < 0;
+        });
+    }
+
+    private Iterator<Edge> edges(Scan scan, Predicate<HBaseEdge> filter) {
+        final EdgeGlobalIndexReader parser = new EdgeGlobalIndexReader(graph);
+        final int batchSize = graph.configuration().getMultiGetBatchSize();
+        ResultScanner scanner;
+        try {
+            scanner = table.getScanner(scan);
+            Iterator<Result> results = IteratorUtils.concat(scanner.iterator(), IteratorUtils.of(Result.EMPTY_RESULT));
+            return IteratorUtils.<List<Result>, Edge>flatMap(
+                    Iterators.partition(results, batchSize),
+                    batch -> {
+                        List<HBaseEdge> edges = new ArrayList<>(batch.size());
+                        for (Result result : batch) {
+                            if (result == Result.EMPTY_RESULT) {
+                                scanner.close();
+                            } else {
+                                edges.add((HBaseEdge) parser.parse(result));
+                            }
+                        }
+                        boolean isLazy = graph.isLazyLoading();
+                        Set<HBaseEdge> found = Collections.newSetFromMap(new IdentityHashMap<>());
+                        if (!isLazy) {
+                            found.addAll(graph.getEdgeModel().load(edges));
+                        }
+                        List<Edge> passed = new ArrayList<>(edges.size());
+                        for (HBaseEdge edge : edges) {
+                            if (isLazy || (found.contains(edge) && filter.test(edge))) {
+                                passed.add(edge);
+                            } else {
+                                edge.removeStaleIndex();
+                            }
+                        }
+                        return passed.iterator();
+                    });
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    private Scan getEdgeIndexScan(String label, boolean isUnique, String key, Object value) {
+        byte[] startRow = serializeForRead(label, isUnique, key, value);
+        Scan scan = new Scan(startRow);
+        scan.setFilter(new PrefixFilter(startRow));
+        return scan;
+    }
+
+    private Scan getEdgeIndexScan(String label, boolean isUnique, String key, Object inclusiveFrom, Object exclusiveTo) {
+        byte[] startRow = serializeForRead(label, isUnique, key, inclusiveFrom);
+        byte[] endRow = serializeForRead(label, isUnique, key, exclusiveTo);
+        return new Scan(startRow, endRow);
+    }
+
+    /*
+     * Returns the prefix of all rows of the index with the given label and key.
+     */
+    public byte[] serializeIndexPrefix(String label, boolean isUnique, String key) {
+        return ValueUtils.encode(buffer -> {
+            graph.getPropertyKeyModel().encodeForRead(buffer, label);
+            OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
+            graph.getPropertyKeyModel().encodeForRead(buffer, key);
+        });
+    }
+
+    public byte[] serializeForRead(String label, boolean isUnique, String key, Object value) {
+        return ValueUtils.encode(buffer -> {
+            graph.getPropertyKeyModel().encodeForRead(buffer, label);
+            OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
+            graph.getPropertyKeyModel().encodeForRead(buffer, key);
+            ValueUtils.serialize(buffer, value);
+        });
+    }
+
+    public byte[] serializeForWrite(Edge edge, boolean isUnique, String key) {
+        return ValueUtils.encode(buffer -> {
+            graph.getPropertyKeyModel().encodeForWrite(buffer, edge.label());
+            OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
+            graph.getPropertyKeyModel().encodeForWrite(buffer, key);
+            // the label index carries no value, the label is already the row prefix
+            ValueUtils.serialize(buffer, key.equals(Constants.LABEL) ? null : edge.value(key));
+            if (!isUnique) {
+                ValueUtils.serialize(buffer, edge.id());
+            }
+        });
+    }
+
+    public Edge deserialize(Result result) {
+        HBaseEdge newEdge = deserializeUncached(result);
+        HBaseEdge edge = (HBaseEdge) graph.findOrCreateEdge(newEdge.id());
+        edge.copyFrom(newEdge);
+        edge.setIndexKey(newEdge.getIndexKey());
+        edge.setIndexTs(newEdge.getIndexTs());
+        return edge;
+    }
+
+    /*
+     * Parse the index row into an edge that is not cached, with only the indexed property.
+     */
+    public HBaseEdge deserializeUncached(Result result) {
+        byte[] bytes = result.getRow();
+        PositionedByteRange buffer = new SimplePositionedByteRange(bytes);
+        String label = graph.getPropertyKeyModel().decode(buffer);
+        boolean isUnique = OrderedBytes.decodeInt8(buffer) == 1;
+        String key = graph.getPropertyKeyModel().decode(buffer);
+        Object value = ValueUtils.deserialize(buffer);
+        Object edgeId;
+        if (isUnique) {
+            Cell edgeIdCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.EDGE_ID_BYTES);
+            edgeId = ValueUtils.deserializeValue(edgeIdCell);
+        } else {
+            edgeId = ValueUtils.deserialize(buffer);
+        }
+        Cell createdAtCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.CREATED_AT_BYTES);
+        Long createdAt = ValueUtils.deserializeValue(createdAtCell);
+        Map<String, Object> properties = new HashMap<>();
+        if (!key.equals(Constants.LABEL)) {
+            properties.put(key, value);
+        }
+        HBaseEdge edge = new HBaseEdge(graph, edgeId, label, createdAt, null, properties, false, null, null);
+        edge.setIndexKey(new IndexMetadata.Key(ElementType.EDGE, label, key));
+        edge.setIndexTs(createdAtCell.getTimestamp());
+        return edge;
+    }
+}
@@ -1,5 +1,6 @@
 package io.hgraphdb.models;
 
+import com.google.common.collect.Iterators;
 import io.hgraphdb.*;
 import io.hgraphdb.mutators.EdgeIndexRemover;
 import io.hgraphdb.mutators.EdgeIndexWriter;
@@ -7,15 +8,20 @@ import io.hgraphdb.mutators.Mutator;
 import io.hgraphdb.mutators.Mutators;
 import io.hgraphdb.readers.EdgeIndexReader;
 import org.apache.hadoop.hbase.Cell;
-import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.filter.BinaryPrefixComparator;
 import org.apache.hadoop.hbase.filter.CompareFilter;
+import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.PageFilter;
 import org.apache.hadoop.hbase.filter.PrefixFilter;
+import org.apache.hadoop.hbase.filter.RegexStringComparator;
 import org.apache.hadoop.hbase.filter.RowFilter;
 import org.apache.hadoop.hbase.util.*;
 import org.apache.tinkerpop.gremlin.structure.Direction;
@@ -32,16 +38,19 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class EdgeIndexModel extends BaseModel {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EdgeIndexModel.class);
 
-    public EdgeIndexModel(HBaseGraph graph, Table table) {
-        super(graph, table);
+    public EdgeIndexModel(HBaseGraph graph, Table table, BufferedMutator mutator) {
+        super(graph, table, mutator);
     }
 
     public void writeEdgeEndpoints(Edge edge) {
@@ -50,29 +59,51 @@ public class EdgeIndexModel extends BaseModel {
         Iterator<IndexMetadata> indices = ((HBaseEdge) edge).getIndices(OperationType.WRITE);
         EdgeIndexWriter indexWriter = new EdgeIndexWriter(graph, edge, indices, now);
         EdgeIndexWriter writer = new EdgeIndexWriter(graph, edge, Constants.CREATED_AT, now);
-        Mutators.create(table, indexWriter, writer);
+        Mutators.create(table, mutator, indexWriter, writer);
     }
 
     public void writeEdgeIndex(Edge edge, String key) {
         EdgeIndexWriter indexWriter = new EdgeIndexWriter(graph, edge, key, null);
-        Mutators.create(table, indexWriter);
+        Mutators.create(table, mutator, indexWriter);
     }
 
     public void writeEdgeIndex(Edge edge, IndexMetadata index) {
         EdgeIndexWriter indexWriter = new EdgeIndexWriter(graph, edge, IteratorUtils.of(index), null);
-        Mutators.create(table, indexWriter);
+        Mutators.create(table, mutator, indexWriter);
+    }
+
+    public void writeEdgeIndex(Edge edge, List<IndexMetadata> indices) {
+        EdgeIndexWriter indexWriter = new EdgeIndexWriter(graph, edge, indices.iterator(), null);
+        Mutators.create(table, mutator, indexWriter);
     }
 
     public void deleteEdgeEndpoints(Edge edge, Long ts) {
         Iterator<IndexMetadata> indices = ((HBaseEdge) edge).getIndices(OperationType.WRITE);
         EdgeIndexRemover indexWriter = new EdgeIndexRemover(graph, edge, indices, ts);
         Mutator writer = new EdgeIndexRemover(graph, edge, Constants.CREATED_AT, ts);
-        Mutators.write(table, writer, indexWriter);
+        Mutators.write(table, mutator, writer, indexWriter);
+    }
+
+    /*
+     * Delete the endpoints and indices of several edges in a single batch.
+     */
+    public void deleteEdgeEndpoints(List<Edge> edges) {
+        Mutator[] writers = edges.stream()
+                .flatMap(edge -> Stream.of(
+                        new EdgeIndexRemover(graph, edge, Constants.CREATED_AT, null),
+                        new EdgeIndexRemover(graph, edge, ((HBaseEdge) edge).getIndices(OperationType.WRITE), null)))
+                .toArray(Mutator[]::new);
+        Mutators.write(table, mutator, writers);
+    }
+
+    public void deleteEdgeIndex(Edge edge, List<IndexMetadata> indices, Long ts) {
+        Mutator writer = new EdgeIndexRemover(graph, edge, indices.iterator(), ts);
+        Mutators.write(table, mutator, writer);
     }
 
     public void deleteEdgeIndex(Edge edge, String key, Long ts) {
         Mutator writer = new EdgeIndexRemover(graph, edge, key, ts);
-        Mutators.write(table, writer);
+        Mutators.write(table, mutator, writer);
     }
 
     public Iterator<Edge> edges(HBaseVertex vertex, Direction direction, String... labels) {
@@ -86,6 +117,87 @@ public class EdgeIndexModel extends BaseModel {
         return performEdgesScan(vertex, scan, cacheKey, false, edge -> true);
     }
 
+    /*
+     * Return at most limit edges.  The partial result is not cached.  When lazy loading,
+     * the limit is pushed into the scan with a page filter; otherwise stale index rows are
+     * dropped after the scan, so only the scanner caching is limited and the scan continues
+     * until limit edges have been found.
+     */
+    public Iterator<Edge> edges(HBaseVertex vertex, Direction direction, int limit, String... labels) {
+        Tuple cacheKey = labels.length > 0
+                ? new Pair<>(direction, Arrays.asList(labels)) : new Unit<>(direction);
+        Iterator<Edge> edges = vertex.getEdgesFromCache(cacheKey);
+        if (edges != null) {
+            return IteratorUtils.limit(edges, limit);
+        }
+        Scan scan = getEdgesEndpointScan(vertex, direction, Constants.CREATED_AT, labels);
+        if (graph.isLazyLoading()) {
+            applyLimit(scan, limit);
+        } else if (limit > 0) {
+            scan.setCaching(limit);
+        }
+        return IteratorUtils.limit(performEdgesScan(vertex, scan, null, false, edge -> true), limit);
+    }
+
+    /*
+     * Count the edges.  When lazy loading, index rows are counted without constructing the
+     * edges, so stale index rows are included in the count; otherwise only the rows that
+     * still resolve to an edge are counted.
+     */
+    public long countEdges(HBaseVertex vertex, Direction direction, String... labels) {
+        Tuple cacheKey = labels.length > 0
+                ? new Pair<>(direction, Arrays.asList(labels)) : new Unit<>(direction);
+        Iterator<Edge> edges = vertex.getEdgesFromCache(cacheKey);
+        if (edges != null) {
+            return IteratorUtils.count(edges);
+        }
+        Scan scan = getEdgesEndpointScan(vertex, direction, Constants.CREATED_AT, labels);
+        if (!graph.isLazyLoading()) {
+            return IteratorUtils.count(performEdgesScan(vertex, scan, cacheKey, false, edge -> true));
+        }
+        return countRows(scan);
+    }
+
+    public long countEdges(HBaseVertex vertex, Direction direction, String label, String key, Object value) {
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label, key);
+        if (key.equals(Constants.CREATED_AT) || index == null || index.isGlobal() || !graph.isLazyLoading()) {
+            return IteratorUtils.count(edges(vertex, direction, label, key, value));
+        }
+        byte[] valueBytes = ValueUtils.serialize(value);
+        Tuple cacheKey = new Quartet<>(direction, label, key, ByteBuffer.wrap(valueBytes));
+        Iterator<Edge> edges = vertex.getEdgesFromCache(cacheKey);
+        if (edges != null) {
+            return IteratorUtils.count(edges);
+        }
+        return countRows(getEdgesScan(vertex, direction, index.isUnique(), key, label, value));
+    }
+
+    private long countRows(Scan scan) {
+        FilterList filterList = new FilterList(FilterList.Operator.MUST_PASS_ALL);
+        if (scan.getFilter() != null) filterList.addFilter(scan.getFilter());
+        filterList.addFilter(new FirstKeyOnlyFilter());
+        filterList.addFilter(new KeyOnlyFilter());
+        scan.setFilter(filterList);
+        long count = 0;
+        try (ResultScanner scanner = table.getScanner(scan)) {
+            while (scanner.next() != null) {
+                count++;
+            }
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+        return count;
+    }
+
+    private void applyLimit(Scan scan, int limit) {
+        FilterList filterList = new FilterList(FilterList.Operator.MUST_PASS_ALL);
+        if (scan.getFilter() != null) filterList.addFilter(scan.getFilter());
+        // the page filter must come last so that it only counts rows passing the other filters
+        filterList.addFilter(new PageFilter(limit));
+        scan.setFilter(filterList);
+        scan.setCaching(limit);
+    }
+
     public Iterator<Edge> edges(HBaseVertex vertex, Direction direction, String label,
                                 String key, Object value) {
         byte[] valueBytes = ValueUtils.serialize(value);
@@ -95,7 +207,7 @@ public class EdgeIndexModel extends BaseModel {
             return edges;
         }
         IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label, key);
-        final boolean useIndex = !key.equals(Constants.CREATED_AT) && index != null;
+        final boolean useIndex = !key.equals(Constants.CREATED_AT) && index != null && !index.isGlobal();
         if (useIndex) {
             LOGGER.debug("Using edge index for ({}, {})", label, key);
         }
@@ -118,7 +230,7 @@ public class EdgeIndexModel extends BaseModel {
             return edges;
         }
         IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label, key);
-        final boolean useIndex = !key.equals(Constants.CREATED_AT) && index != null;
+        final boolean useIndex = !key.equals(Constants.CREATED_AT) && index != null && !index.isGlobal();
         if (useIndex) {
             LOGGER.debug("Using edge index for ({}, {})", label, key);
         }
@@ -132,38 +244,60 @@ public class EdgeIndexModel extends BaseModel {
         });
     }
 
-    @SuppressWarnings("unchecked")
+    /*
+     * Scan the index rows in chunks of multiGetBatchSize.  When lazy loading is off,
+     * the edges of each chunk that are not yet loaded are fetched with one multi-get
+     * before the filter is applied.
+     */
     private Iterator<Edge> performEdgesScan(HBaseVertex vertex, Scan scan, Tuple cacheKey,
                                             boolean useIndex, Predicate<HBaseEdge> filter) {
         List<Edge> cached = new ArrayList<>();
         final EdgeIndexReader parser = new EdgeIndexReader(graph);
+        final int batchSize = graph.configuration().getMultiGetBatchSize();
         ResultScanner scanner;
         try {
             scanner = table.getScanner(scan);
-            return IteratorUtils.<Result, Edge>flatMap(
-                    IteratorUtils.concat(scanner.iterator(), IteratorUtils.of(Result.EMPTY_RESULT)),
-                    result -> {
-                        if (result == Result.EMPTY_RESULT) {
-                            vertex.cacheEdges(cacheKey, cached);
-                            scanner.close();
-                            return Collections.emptyIterator();
-                        }
-                        HBaseEdge edge = (HBaseEdge) parser.parse(result);
-                        try {
-                            boolean isLazy = graph.isLazyLoading();
-                            if (!isLazy) edge.load();
-                            boolean passesFilter = (isLazy && useIndex) || filter.test(edge);
-                            if (passesFilter) {
-                                cached.add(edge);
-                                return IteratorUtils.of(edge);
+            Iterator<Result> results = IteratorUtils.concat(scanner.iterator(), IteratorUtils.of(Result.EMPTY_RESULT));
+            return IteratorUtils.<List<Result>, Edge>flatMap(
+                    Iterators.partition(results, batchSize),
+                    batch -> {
+                        List<HBaseEdge> edges = new ArrayList<>(batch.size());
+                        boolean done = false;
+                        for (Result result : batch) {
+                            if (result == Result.EMPTY_RESULT) {
+                                done = true;
                             } else {
-                                if (useIndex) edge.removeStaleIndex();
-                                return Collections.emptyIterator();
+                                edges.add((HBaseEdge) parser.parse(result));
                             }
-                        } catch (final HBaseGraphNotFoundException e) {
-                            edge.removeStaleIndex();
-                            return Collections.emptyIterator();
                         }
+                        boolean isLazy = graph.isLazyLoading();
+                        Set<HBaseEdge> found = Collections.newSetFromMap(new IdentityHashMap<>());
+                        if (!isLazy) {
+                            found.addAll(graph.getEdgeModel().load(edges));
+                        }
+                        List<Edge> passed = new ArrayList<>(edges.size());
+                        for (HBaseEdge edge : edges) {
+                            if (!isLazy && !found.contains(edge)) {
+                                edge.removeStaleIndex();
+                                continue;
+                            }
+                            try {
+                                boolean passesFilter = (isLazy && useIndex) || filter.test(edge);
+                                if (passesFilter) {
+                                    cached.add(edge);
+                                    passed.add(edge);
+                                } else {
+                                    if (useIndex) edge.removeStaleIndex();
+                                }
+                            } catch (final HBaseGraphNotFoundException e) {
+                                edge.removeStaleIndex();
+                            }
+                        }
+                        if (done) {
+                            if (cacheKey != null) vertex.cacheEdges(cacheKey, cached);
+                            scanner.close();
+                        }
+                        return passed.iterator();
                     });
         } catch (IOException e) {
             throw new HBaseGraphException(e);
@@ -171,34 +305,52 @@ public class EdgeIndexModel extends BaseModel {
     }
 
     public Iterator<Vertex> vertices(HBaseVertex vertex, Direction direction, String... labels) {
-        return IteratorUtils.flatMap(edges(vertex, direction, labels), transformEdge(vertex));
+        return adjacentVertices(vertex, edges(vertex, direction, labels));
     }
 
     public Iterator<Vertex> vertices(HBaseVertex vertex, Direction direction, String label,
                                      String edgeKey, Object edgeValue) {
-        return IteratorUtils.flatMap(edges(vertex, direction, label, edgeKey, edgeValue), transformEdge(vertex));
+        return adjacentVertices(vertex, edges(vertex, direction, label, edgeKey, edgeValue));
     }
 
     public Iterator<Vertex> vertices(HBaseVertex vertex, Direction direction, String label,
                                      String edgeKey, Object inclusiveFromEdgeValue, Object exclusiveToEdgeValue) {
-        return IteratorUtils.flatMap(edges(vertex, direction, label, edgeKey,
-                inclusiveFromEdgeValue, exclusiveToEdgeValue), transformEdge(vertex));
-    }
-
-    private Function<Edge, Iterator<Vertex>> transformEdge(HBaseVertex vertex) {
-        return edge -> {
-            Object inVertexId = edge.inVertex().id();
-            Object outVertexId = edge.outVertex().id();
-            Object vertexId = vertex.id().equals(inVertexId) ? outVertexId : inVertexId;
-            try {
-                HBaseVertex v = (HBaseVertex) graph.findOrCreateVertex(vertexId);
-                if (!graph.isLazyLoading()) v.load();
-                return IteratorUtils.of(v);
-            } catch (final HBaseGraphNotFoundException e) {
-                ((HBaseEdge) edge).removeStaleIndex();
-                return Collections.emptyIterator();
+        return adjacentVertices(vertex, edges(vertex, direction, label, edgeKey,
+                inclusiveFromEdgeValue, exclusiveToEdgeValue));
+    }
+
+    /*
+     * Resolve the vertices at the other end of the given edges, loading each chunk
+     * of uncached vertices with a single multi-get.  Edges whose adjacent vertex no
+     * longer exists are dropped when eager loading.
+     */
+    public Iterator<Vertex> adjacentVertices(HBaseVertex vertex, Iterator<Edge> edges) {
+        int batchSize = graph.configuration().getMultiGetBatchSize();
+        return IteratorUtils.flatMap(Iterators.partition(edges, batchSize), batch -> {
+            List<Vertex> adjacent = batch.stream()
+                    .map(edge -> {
+                        Object inVertexId = edge.inVertex().id();
+                        Object outVertexId = edge.outVertex().id();
+                        Object vertexId = vertex.id().equals(inVertexId) ? outVertexId : inVertexId;
+                        return graph.findOrCreateVertex(vertexId);
+                    })
+                    .collect(Collectors.toList());
+            if (graph.isLazyLoading()) {
+                return adjacent.iterator();
             }
-        };
+            Set<Vertex> found = Collections.newSetFromMap(new IdentityHashMap<>());
+            found.addAll(graph.getVertexModel().load(adjacent));
+            List<Vertex> vertices = new ArrayList<>(adjacent.size());
+            for (int i = 0; i < adjacent.size(); i++) {
+                Vertex v = adjacent.get(i);
+                if (found.contains(v)) {
+                    vertices.add(v);
+                } else {
+                    ((HBaseEdge) batch.get(i)).removeStaleIndex();
+                }
+            }
+            return vertices.iterator();
+        });
     }
 
     private Scan getEdgesEndpointScan(Vertex vertex, Direction direction, String key, String... labels) {
@@ -279,85 +431,112 @@ public class EdgeIndexModel extends BaseModel {
     }
 
     public byte[] serializeForRead(Vertex vertex, Direction direction, boolean isUnique, String key, String label, Object value) {
-        PositionedByteRange buffer = new SimplePositionedMutableByteRange(4096);
-        ValueUtils.serializeWithSalt(buffer, vertex.id());
-        if (direction != null) {
-            OrderedBytes.encodeInt8(buffer, direction == Direction.IN ? (byte) 1 : (byte) 0, Order.ASCENDING);
-            OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
-            if (key != null) {
-                OrderedBytes.encodeString(buffer, key, Order.ASCENDING);
-                if (label != null) {
-                    OrderedBytes.encodeString(buffer, label, Order.ASCENDING);
-                    if (value != null) {
-                        ValueUtils.serialize(buffer, value);
+        return ValueUtils.encode(buffer -> {
+            ValueUtils.serializeWithSalt(buffer, vertex.id());
+            if (direction != null) {
+                OrderedBytes.encodeInt8(buffer, direction == Direction.IN ? (byte) 1 : (byte) 0, Order.ASCENDING);
+                OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
+                if (key != null) {
+                    graph.getPropertyKeyModel().encodeForRead(buffer, key);
+                    if (label != null) {
+                        graph.getPropertyKeyModel().encodeForRead(buffer, label);
+                        if (value != null) {
+                            ValueUtils.serialize(buffer, value);
+                        }
                     }
                 }
             }
-        }
-        buffer.setLength(buffer.getPosition());
-        buffer.setPosition(0);
-        byte[] bytes = new byte[buffer.getRemaining()];
-        buffer.get(bytes);
-        return bytes;
+        });
+    }
+
+    /*
+     * Returns a filter that passes the rows of the index with the given key and label.  Since the rows
+     * are only matched on the encoded key and label, other rows may pass too and should be checked
+     * with isIndexRow.
+     */
+    public Filter getIndexRowFilter(String key, String label) {
+        byte[] encoded = ValueUtils.encode(buffer -> {
+            graph.getPropertyKeyModel().encodeForRead(buffer, key);
+            graph.getPropertyKeyModel().encodeForRead(buffer, label);
+        });
+        String bytes = new String(encoded, StandardCharsets.ISO_8859_1);
+        RegexStringComparator comparator = new RegexStringComparator(Pattern.quote(bytes), Pattern.DOTALL);
+        comparator.setCharset(StandardCharsets.ISO_8859_1);
+        return new RowFilter(CompareFilter.CompareOp.EQUAL, comparator);
+    }
+
+    public boolean isIndexRow(byte[] row, String key, String label) {
+        PositionedByteRange buffer = new SimplePositionedByteRange(row);
+        ValueUtils.deserializeWithSalt(buffer);
+        OrderedBytes.decodeInt8(buffer);
+        OrderedBytes.decodeInt8(buffer);
+        PropertyKeyModel keys = graph.getPropertyKeyModel();
+        return key.equals(keys.decode(buffer)) && label.equals(keys.decode(buffer));
     }
 
     public byte[] serializeForWrite(Edge edge, Direction direction, boolean isUnique, String key) {
         Object inVertexId = edge.inVertex().id();
         Object outVertexId = edge.outVertex().id();
-        PositionedByteRange buffer = new SimplePositionedMutableByteRange(4096);
-        ValueUtils.serializeWithSalt(buffer, direction == Direction.IN ? inVertexId : outVertexId);
-        OrderedBytes.encodeInt8(buffer, direction == Direction.IN ? (byte) 1 : (byte) 0, Order.ASCENDING);
-        OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
-        OrderedBytes.encodeString(buffer, key, Order.ASCENDING);
-        OrderedBytes.encodeString(buffer, edge.label(), Order.ASCENDING);
-        ValueUtils.serialize(buffer, key.equals(Constants.CREATED_AT) ? ((HBaseEdge) edge).createdAt() : edge.value(key));
-        if (!isUnique) {
-            ValueUtils.serialize(buffer, direction == Direction.IN ? outVertexId : inVertexId);
-            ValueUtils.serialize(buffer, edge.id());
-        }
-        buffer.setLength(buffer.getPosition());
-        buffer.setPosition(0);
-        byte[] bytes = new byte[buffer.getRemaining()];
-        buffer.get(bytes);
-        return bytes;
+        return ValueUtils.encode(buffer -> {
+            ValueUtils.serializeWithSalt(buffer, direction == Direction.IN ? inVertexId : outVertexId);
+            OrderedBytes.encodeInt8(buffer, direction == Direction.IN ? (byte) 1 : (byte) 0, Order.ASCENDING);
+            OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
+            graph.getPropertyKeyModel().encodeForWrite(buffer, key);
+            graph.getPropertyKeyModel().encodeForWrite(buffer, edge.label());
+            ValueUtils.serialize(buffer, key.equals(Constants.CREATED_AT) ? ((HBaseEdge) edge).createdAt() : edge.value(key));
+            if (!isUnique) {
+                ValueUtils.serialize(buffer, direction == Direction.IN ? outVertexId : inVertexId);
+                ValueUtils.serialize(buffer, edge.id());
+            }
+        });
     }
 
     public Edge deserialize(Result result) {
+        HBaseEdge newEdge = deserializeUncached(result);
+        HBaseEdge edge = (HBaseEdge) graph.findOrCreateEdge(newEdge.id());
+        edge.copyFrom(newEdge);
+        edge.setIndexKey(newEdge.getIndexKey());
+        edge.setIndexTs(newEdge.getIndexTs());
+        return edge;
+    }
+
+    /*
+     * Parse the index row into an edge that is not cached, with only the indexed property.
+     */
+    public HBaseEdge deserializeUncached(Result result) {
         byte[] bytes = result.getRow();
         PositionedByteRange buffer = new SimplePositionedByteRange(bytes);
         Object vertexId1 = ValueUtils.deserializeWithSalt(buffer);
         Direction direction = OrderedBytes.decodeInt8(buffer) == 1 ? Direction.IN : Direction.OUT;
         boolean isUnique = OrderedBytes.decodeInt8(buffer) == 1;
-        String key = OrderedBytes.decodeString(buffer);
-        String label = OrderedBytes.decodeString(buffer);
+        String key = graph.getPropertyKeyModel().decode(buffer);
+        String label = graph.getPropertyKeyModel().decode(buffer);
         Object value = ValueUtils.deserialize(buffer);
         Object vertexId2;
         Object edgeId;
         if (isUnique) {
             Cell vertexId2Cell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.VERTEX_ID_BYTES);
-            vertexId2 = ValueUtils.deserialize(CellUtil.cloneValue(vertexId2Cell));
+            vertexId2 = ValueUtils.deserializeValue(vertexId2Cell);
             Cell edgeIdCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.EDGE_ID_BYTES);
-            edgeId = ValueUtils.deserialize(CellUtil.cloneValue(edgeIdCell));
+            edgeId = ValueUtils.deserializeValue(edgeIdCell);
         } else {
             vertexId2 = ValueUtils.deserialize(buffer);
             edgeId = ValueUtils.deserialize(buffer);
         }
         Cell createdAttsCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.CREATED_AT_BYTES);
-        Long createdAt = ValueUtils.deserialize(CellUtil.cloneValue(createdAttsCell));
+        Long createdAt = ValueUtils.deserializeValue(createdAttsCell);
         Map<String, Object> properties = new HashMap<>();
         properties.put(key, value);
-        HBaseEdge newEdge;
+        HBaseEdge edge;
         if (direction == Direction.IN) {
-            newEdge = new HBaseEdge(graph, edgeId, label, createdAt, null, properties, false,
+            edge = new HBaseEdge(graph, edgeId, label, createdAt, null, properties, false,
                     graph.findOrCreateVertex(vertexId1),
                     graph.findOrCreateVertex(vertexId2));
         } else {
-            newEdge = new HBaseEdge(graph, edgeId, label, createdAt, null, properties, false,
+            edge = new HBaseEdge(graph, edgeId, label, createdAt, null, properties, false,
                     graph.findOrCreateVertex(vertexId2),
                     graph.findOrCreateVertex(vertexId1));
         }
-        HBaseEdge edge = (HBaseEdge) graph.findOrCreateEdge(edgeId);
-        edge.copyFrom(newEdge);
         edge.setIndexKey(new IndexMetadata.Key(ElementType.EDGE, label, key));
         edge.setIndexTs(createdAttsCell.getTimestamp());
         return edge;
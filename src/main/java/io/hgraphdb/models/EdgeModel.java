@@ -1,8 +1,13 @@
 package io.hgraphdb.models;
 
+import io.hgraphdb.Constants;
+import io.hgraphdb.ElementType;
 import io.hgraphdb.HBaseGraph;
 import io.hgraphdb.HBaseGraphException;
 import io.hgraphdb.HBaseGraphUtils;
+import io.hgraphdb.IndexMetadata;
+import io.hgraphdb.LabelMetadata;
+import io.hgraphdb.OperationType;
 import io.hgraphdb.ValueUtils;
 import io.hgraphdb.mutators.Creator;
 import io.hgraphdb.mutators.EdgeRemover;
@@ -10,23 +15,29 @@ import io.hgraphdb.mutators.EdgeWriter;
 import io.hgraphdb.mutators.Mutator;
 import io.hgraphdb.mutators.Mutators;
 import io.hgraphdb.readers.EdgeReader;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.filter.PageFilter;
-import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 
 public class EdgeModel extends ElementModel {
 
-    public EdgeModel(HBaseGraph graph, Table table) {
-        super(graph, table);
+    private static final Logger LOGGER = LoggerFactory.getLogger(EdgeModel.class);
+
+    public EdgeModel(HBaseGraph graph, Table table, BufferedMutator mutator) {
+        super(graph, table, mutator);
     }
 
     public EdgeReader getReader() {
@@ -34,13 +45,24 @@ public class EdgeModel extends ElementModel {
     }
 
     public void writeEdge(Edge edge) {
-        Creator creator = new EdgeWriter(graph, edge);
-        Mutators.create(table, creator);
+        writeEdge(edge, false);
+    }
+
+    public void writeEdge(Edge edge, boolean upsert) {
+        Creator creator = new EdgeWriter(graph, edge, upsert);
+        Mutators.create(table, mutator, creator);
     }
 
     public void deleteEdge(Edge edge) {
         Mutator writer = new EdgeRemover(graph, edge);
-        Mutators.write(table, writer);
+        Mutators.write(table, mutator, writer);
+    }
+
+    public void deleteEdges(List<Edge> edges) {
+        Mutator[] writers = edges.stream()
+                .map(edge -> new EdgeRemover(graph, edge))
+                .toArray(Mutator[]::new);
+        Mutators.write(table, mutator, writers);
     }
 
     public Iterator<Edge> edges() {
@@ -69,12 +91,36 @@ public class EdgeModel extends ElementModel {
         }
     }
 
+    public Iterator<Edge> edges(String label) {
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label, Constants.LABEL);
+        if (index != null) {
+            LOGGER.debug("Using edge label index for {}", label);
+            return graph.getEdgeGlobalIndexModel().edges(label);
+        }
+        final EdgeReader parser = new EdgeReader(graph);
+
+        Scan scan = getPropertyScan(label);
+        ResultScanner scanner = null;
+        try {
+            scanner = table.getScanner(scan);
+            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse);
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
     public Iterator<Edge> edges(String key, Object value) {
         ElementHelper.validateProperty(key, value);
+        List<IndexMetadata> indices = getCoveringGlobalIndices(key);
+        if (indices != null) {
+            LOGGER.debug("Using global edge indices for {}: {}", key, indices);
+            return IteratorUtils.flatMap(indices.iterator(),
+                    index -> graph.getEdgeGlobalIndexModel().edges(index.label(), index.isUnique(), key, value));
+        }
         final EdgeReader parser = new EdgeReader(graph);
 
         byte[] val = ValueUtils.serialize(value);
-        final byte[] keyBytes = Bytes.toBytes(key);
+        final byte[] keyBytes = graph.getPropertyKeyModel().qualifierForRead(key);
         Scan scan = getPropertyScan(keyBytes, val);
         ResultScanner scanner = null;
         try {
@@ -84,4 +130,65 @@ public class EdgeModel extends ElementModel {
             throw new HBaseGraphException(e);
         }
     }
+
+    public Iterator<Edge> edges(String label, String key, Object value) {
+        ElementHelper.validateProperty(key, value);
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label, key);
+        if (index != null && index.isGlobal()) {
+            LOGGER.debug("Using global edge index for ({}, {})", label, key);
+            return graph.getEdgeGlobalIndexModel().edges(label, index.isUnique(), key, value);
+        }
+        final EdgeReader parser = new EdgeReader(graph);
+
+        byte[] val = ValueUtils.serialize(value);
+        final byte[] keyBytes = graph.getPropertyKeyModel().qualifierForRead(key);
+        Scan scan = getPropertyScan(label, keyBytes, val);
+        ResultScanner scanner = null;
+        try {
+            scanner = table.getScanner(scan);
+            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse);
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    public Iterator<Edge> edges(String label, String key, Object inclusiveFrom, Object exclusiveTo) {
+        ElementHelper.validateProperty(key, inclusiveFrom);
+        ElementHelper.validateProperty(key, exclusiveTo);
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label, key);
+        if (index != null && index.isGlobal()) {
+            LOGGER.debug("Using global edge index for ({}, {})", label, key);
+            return graph.getEdgeGlobalIndexModel().edges(label, index.isUnique(), key, inclusiveFrom, exclusiveTo);
+        }
+        final EdgeReader parser = new EdgeReader(graph);
+
+        byte[] fromVal = ValueUtils.serialize(inclusiveFrom);
+        byte[] toVal = ValueUtils.serialize(exclusiveTo);
+        final byte[] keyBytes = graph.getPropertyKeyModel().qualifierForRead(key);
+        Scan scan = getPropertyScan(label, keyBytes, fromVal, toVal);
+        ResultScanner scanner = null;
+        try {
+            scanner = table.getScanner(scan);
+            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse);
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    /*
+     * Without a label, a global index can only be used if every edge label having the key is indexed,
+     * which is only known when schema management is enabled.
+     */
+    private List<IndexMetadata> getCoveringGlobalIndices(String key) {
+        if (!graph.configuration().getUseSchema()) return null;
+        List<IndexMetadata> indices = new ArrayList<>();
+        for (Iterator<LabelMetadata> it = graph.getLabels(ElementType.EDGE); it.hasNext(); ) {
+            LabelMetadata label = it.next();
+            if (!label.propertyTypes().containsKey(key)) continue;
+            IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label.label(), key);
+            if (index == null || !index.isGlobal()) return null;
+            indices.add(index);
+        }
+        return indices.isEmpty() ? null : indices;
+    }
 }
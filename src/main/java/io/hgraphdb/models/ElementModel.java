@@ -1,12 +1,15 @@
 package io.hgraphdb.models;
 
 import io.hgraphdb.Constants;
+import io.hgraphdb.HBaseElement;
 import io.hgraphdb.HBaseGraph;
 import io.hgraphdb.HBaseGraphException;
+import io.hgraphdb.HBaseGraphNotFoundException;
 import io.hgraphdb.ValueUtils;
 import io.hgraphdb.mutators.PropertyRemover;
 import io.hgraphdb.mutators.PropertyWriter;
 import io.hgraphdb.readers.ElementReader;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
@@ -15,18 +18,25 @@ import org.apache.hadoop.hbase.filter.BinaryComparator;
 import org.apache.hadoop.hbase.filter.CompareFilter;
 import org.apache.hadoop.hbase.filter.FilterList;
 import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public abstract class ElementModel extends BaseModel {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementModel.class);
 
-    public ElementModel(HBaseGraph graph, Table table) {
-        super(graph, table);
+    public ElementModel(HBaseGraph graph, Table table, BufferedMutator mutator) {
+        super(graph, table, mutator);
     }
 
     public abstract ElementReader getReader();
@@ -50,6 +60,61 @@ public abstract class ElementModel extends BaseModel {
         }
     }
 
+    /**
+     * Load the given elements from the backing table using a single multi-get.
+     * Elements that are already fully loaded are not fetched again.
+     *
+     * @param elements The elements
+     * @return The elements that exist, in the order given
+     */
+    public <E extends Element> List<E> load(List<E> elements) {
+        List<E> toLoad = elements.stream()
+                .filter(element -> !((HBaseElement) element).isLoaded())
+                .collect(Collectors.toList());
+        return loadAll(elements, toLoad);
+    }
+
+    /**
+     * Load the given elements from the backing table using a single multi-get, whether or
+     * not they are already loaded.  Meant for elements that are not cached, so that the
+     * current rows are read without reading or modifying the cached elements.
+     *
+     * @param elements The elements
+     * @return The elements that exist, in the order given
+     */
+    public <E extends Element> List<E> reload(List<E> elements) {
+        return loadAll(elements, elements);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Element> List<E> loadAll(List<E> elements, List<E> toLoad) {
+        Set<E> notFound = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (!toLoad.isEmpty()) {
+            LOGGER.trace("Executing multi-Get, type: {}, size: {}", getClass().getSimpleName(), toLoad.size());
+
+            List<Get> gets = toLoad.stream()
+                    .map(element -> new Get(ValueUtils.serializeWithSalt(element.id())))
+                    .collect(Collectors.toList());
+            try {
+                Result[] results = table.get(gets);
+                ElementReader reader = getReader();
+                for (int i = 0; i < results.length; i++) {
+                    E element = toLoad.get(i);
+                    try {
+                        reader.load(element, results[i]);
+                    } catch (HBaseGraphNotFoundException e) {
+                        notFound.add(element);
+                    }
+                }
+            } catch (IOException e) {
+                throw new HBaseGraphException(e);
+            }
+        }
+        return notFound.isEmpty() ? elements : elements.stream()
+                .filter(element -> !notFound.contains(element))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Delete the property entry from property table.
      *
@@ -71,6 +136,26 @@ public abstract class ElementModel extends BaseModel {
         return new PropertyWriter(graph, element, key, value);
     }
 
+    public PropertyWriter writeProperties(Element element, Map<String, Object> properties) {
+        return new PropertyWriter(graph, element, properties);
+    }
+
+    /**
+     * Returns a scan over the elements with the given label in a single salt bucket.
+     *
+     * @param label The label
+     * @param bucket The salt bucket
+     * @param lastRow The last row already processed in the bucket, or null to scan the whole bucket
+     */
+    public Scan getBucketScan(String label, int bucket, byte[] lastRow) {
+        Scan scan = getPropertyScan(label);
+        scan.setStartRow(lastRow != null ? Bytes.add(lastRow, new byte[] { 0 }) : new byte[] { (byte) bucket });
+        if (bucket < ValueUtils.DEFAULT_NUM_BUCKETS - 1) {
+            scan.setStopRow(new byte[] { (byte) (bucket + 1) });
+        }
+        return scan;
+    }
+
     protected Scan getPropertyScan(String label) {
         Scan scan = new Scan();
         SingleColumnValueFilter valueFilter = new SingleColumnValueFilter(Constants.DEFAULT_FAMILY_BYTES,
@@ -5,24 +5,31 @@ import io.hgraphdb.IndexMetadata.State;
 import io.hgraphdb.mutators.Creator;
 import io.hgraphdb.mutators.IndexMetadataRemover;
 import io.hgraphdb.mutators.IndexMetadataWriter;
+import io.hgraphdb.mutators.IndexProgressRemover;
+import io.hgraphdb.mutators.IndexProgressWriter;
 import io.hgraphdb.mutators.Mutator;
 import io.hgraphdb.mutators.Mutators;
 import io.hgraphdb.readers.IndexMetadataReader;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.hbase.util.Order;
 import org.apache.hadoop.hbase.util.OrderedBytes;
 import org.apache.hadoop.hbase.util.PositionedByteRange;
 import org.apache.hadoop.hbase.util.SimplePositionedByteRange;
-import org.apache.hadoop.hbase.util.SimplePositionedMutableByteRange;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
 
 public class IndexMetadataModel extends BaseModel {
 
@@ -45,6 +52,55 @@ public class IndexMetadataModel extends BaseModel {
         Mutators.write(table, writer);
     }
 
+    public void writeIndexProgress(IndexMetadata.Key indexKey, int bucket, byte[] lastRow) {
+        Mutator writer = new IndexProgressWriter(graph, indexKey, bucket, lastRow);
+        Mutators.write(table, writer);
+    }
+
+    public void clearIndexProgress(IndexMetadata.Key indexKey) {
+        Mutator writer = new IndexProgressRemover(graph, indexKey, Constants.INDEX_PROGRESS_BYTES);
+        Mutators.write(table, writer);
+    }
+
+    public void clearPurgeProgress(IndexMetadata.Key indexKey) {
+        Mutator writer = new IndexProgressRemover(graph, indexKey, Constants.PURGE_PROGRESS_BYTES);
+        Mutators.write(table, writer);
+    }
+
+    /*
+     * Returns the last row indexed for each salt bucket that has been checkpointed,
+     * or an empty row if the bucket is done.
+     */
+    public Map<Integer, byte[]> indexProgress(IndexMetadata.Key indexKey) {
+        return progress(indexKey, Constants.INDEX_PROGRESS_BYTES);
+    }
+
+    /*
+     * Returns the last row deleted for each salt bucket that has been checkpointed
+     * while purging a dropped index, or an empty row if the bucket is done.
+     */
+    public Map<Integer, byte[]> purgeProgress(IndexMetadata.Key indexKey) {
+        return progress(indexKey, Constants.PURGE_PROGRESS_BYTES);
+    }
+
+    private Map<Integer, byte[]> progress(IndexMetadata.Key indexKey, byte[] prefix) {
+        Map<Integer, byte[]> progress = new HashMap<>();
+        Get get = new Get(serialize(indexKey));
+        try {
+            Result result = table.get(get);
+            if (result.isEmpty()) return progress;
+            for (Cell cell : result.listCells()) {
+                byte[] qualifier = CellUtil.cloneQualifier(cell);
+                if (qualifier.length == prefix.length + 1 && Bytes.startsWith(qualifier, prefix)) {
+                    progress.put(qualifier[qualifier.length - 1] & 0xff, CellUtil.cloneValue(cell));
+                }
+            }
+            return progress;
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
     public IndexMetadata index(IndexMetadata.Key indexKey) {
         final IndexMetadataReader parser = new IndexMetadataReader(graph);
         Get get = new Get(serialize(indexKey));
@@ -61,22 +117,52 @@ public class IndexMetadataModel extends BaseModel {
         ResultScanner scanner = null;
         try {
             scanner = table.getScanner(new Scan());
-            return HBaseGraphUtils.mapWithCloseAtEnd(scanner, parser::parse);
+            // the graph metadata row shares the table, and is not an index
+            return IteratorUtils.filter(HBaseGraphUtils.mapWithCloseAtEnd(scanner,
+                    result -> Bytes.equals(result.getRow(), Constants.GRAPH_METADATA_BYTES) ? null : parser.parse(result)),
+                    Objects::nonNull);
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    /*
+     * Returns whether the graph uses the property key dictionary, or null if that has not been recorded.
+     */
+    public Boolean usesPropertyKeyDictionary() {
+        try {
+            Result result = table.get(new Get(Constants.GRAPH_METADATA_BYTES));
+            Cell cell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.PROPERTY_KEY_BYTES);
+            return cell != null ? ValueUtils.deserializeValue(cell) : null;
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    /*
+     * Records whether the graph uses the property key dictionary, unless another client has
+     * recorded it first, and returns the recorded setting.
+     */
+    public boolean recordPropertyKeyDictionary(boolean useDictionary) {
+        Put put = new Put(Constants.GRAPH_METADATA_BYTES);
+        put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.PROPERTY_KEY_BYTES, ValueUtils.serialize(useDictionary));
+        try {
+            if (table.checkAndPut(Constants.GRAPH_METADATA_BYTES, Constants.DEFAULT_FAMILY_BYTES,
+                    Constants.PROPERTY_KEY_BYTES, null, put)) {
+                return useDictionary;
+            }
         } catch (IOException e) {
             throw new HBaseGraphException(e);
         }
+        return usesPropertyKeyDictionary();
     }
 
     public byte[] serialize(IndexMetadata.Key index) {
-        PositionedByteRange buffer = new SimplePositionedMutableByteRange(4096);
-        OrderedBytes.encodeString(buffer, index.label(), Order.ASCENDING);
-        OrderedBytes.encodeString(buffer, index.propertyKey(), Order.ASCENDING);
-        OrderedBytes.encodeInt8(buffer, index.type() == ElementType.VERTEX ? (byte) 1 : (byte) 0, Order.ASCENDING);
-        buffer.setLength(buffer.getPosition());
-        buffer.setPosition(0);
-        byte[] bytes = new byte[buffer.getRemaining()];
-        buffer.get(bytes);
-        return bytes;
+        return ValueUtils.encode(buffer -> {
+            OrderedBytes.encodeString(buffer, index.label(), Order.ASCENDING);
+            OrderedBytes.encodeString(buffer, index.propertyKey(), Order.ASCENDING);
+            OrderedBytes.encodeInt8(buffer, index.type() == ElementType.VERTEX ? (byte) 1 : (byte) 0, Order.ASCENDING);
+        });
     }
 
     public IndexMetadata deserialize(Result result) {
@@ -86,13 +172,15 @@ public class IndexMetadataModel extends BaseModel {
         String propertyKey = OrderedBytes.decodeString(buffer);
         ElementType type = OrderedBytes.decodeInt8(buffer) == 1 ? ElementType.VERTEX : ElementType.EDGE;
         Cell uniqueCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.UNIQUE_BYTES);
-        boolean isUnique = ValueUtils.deserialize(CellUtil.cloneValue(uniqueCell));
+        boolean isUnique = ValueUtils.deserializeValue(uniqueCell);
+        Cell globalCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.GLOBAL_BYTES);
+        boolean isGlobal = globalCell != null && (Boolean) ValueUtils.deserializeValue(globalCell);
         Cell stateCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.INDEX_STATE_BYTES);
-        State state = State.valueOf(ValueUtils.deserialize(CellUtil.cloneValue(stateCell)));
+        State state = State.valueOf(ValueUtils.deserializeValue(stateCell));
         Cell createdAtCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.CREATED_AT_BYTES);
-        Long createdAt = ValueUtils.deserialize(CellUtil.cloneValue(createdAtCell));
+        Long createdAt = ValueUtils.deserializeValue(createdAtCell);
         Cell updatedAtCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.UPDATED_AT_BYTES);
-        Long updatedAt = ValueUtils.deserialize(CellUtil.cloneValue(updatedAtCell));
-        return new IndexMetadata(type, label, propertyKey, isUnique, state, createdAt, updatedAt);
+        Long updatedAt = ValueUtils.deserializeValue(updatedAtCell);
+        return new IndexMetadata(type, label, propertyKey, isUnique, isGlobal, state, createdAt, updatedAt);
     }
 }
@@ -8,7 +8,6 @@ import io.hgraphdb.mutators.Mutator;
 import io.hgraphdb.mutators.Mutators;
 import io.hgraphdb.readers.LabelConnectionReader;
 import org.apache.hadoop.hbase.Cell;
-import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
@@ -18,7 +17,6 @@ import org.apache.hadoop.hbase.util.Order;
 import org.apache.hadoop.hbase.util.OrderedBytes;
 import org.apache.hadoop.hbase.util.PositionedByteRange;
 import org.apache.hadoop.hbase.util.SimplePositionedByteRange;
-import org.apache.hadoop.hbase.util.SimplePositionedMutableByteRange;
 
 import java.io.IOException;
 import java.util.Iterator;
@@ -62,15 +60,11 @@ public class LabelConnectionModel extends BaseModel {
     }
 
     public byte[] serialize(String outVertexLabel, String edgeLabel, String inVertexLabel) {
-        PositionedByteRange buffer = new SimplePositionedMutableByteRange(4096);
-        OrderedBytes.encodeString(buffer, outVertexLabel, Order.ASCENDING);
-        OrderedBytes.encodeString(buffer, edgeLabel, Order.ASCENDING);
-        OrderedBytes.encodeString(buffer, inVertexLabel, Order.ASCENDING);
-        buffer.setLength(buffer.getPosition());
-        buffer.setPosition(0);
-        byte[] bytes = new byte[buffer.getRemaining()];
-        buffer.get(bytes);
-        return bytes;
+        return ValueUtils.encode(buffer -> {
+            OrderedBytes.encodeString(buffer, outVertexLabel, Order.ASCENDING);
+            OrderedBytes.encodeString(buffer, edgeLabel, Order.ASCENDING);
+            OrderedBytes.encodeString(buffer, inVertexLabel, Order.ASCENDING);
+        });
     }
 
     public LabelConnection deserialize(Result result) {
@@ -80,7 +74,7 @@ public class LabelConnectionModel extends BaseModel {
         String edgeLabel = OrderedBytes.decodeString(buffer);
         String inVertexLabel = OrderedBytes.decodeString(buffer);
         Cell createdAtCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.CREATED_AT_BYTES);
-        Long createdAt = ValueUtils.deserialize(CellUtil.cloneValue(createdAtCell));
+        Long createdAt = ValueUtils.deserializeValue(createdAtCell);
         return new LabelConnection(outVertexLabel, edgeLabel, inVertexLabel, createdAt);
     }
 }
@@ -64,14 +64,10 @@ public class LabelMetadataModel extends BaseModel {
     }
 
     public byte[] serialize(LabelMetadata.Key label) {
-        PositionedByteRange buffer = new SimplePositionedMutableByteRange(4096);
-        OrderedBytes.encodeString(buffer, label.label(), Order.ASCENDING);
-        OrderedBytes.encodeInt8(buffer, label.type() == ElementType.VERTEX ? (byte) 1 : (byte) 0, Order.ASCENDING);
-        buffer.setLength(buffer.getPosition());
-        buffer.setPosition(0);
-        byte[] bytes = new byte[buffer.getRemaining()];
-        buffer.get(bytes);
-        return bytes;
+        return ValueUtils.encode(buffer -> {
+            OrderedBytes.encodeString(buffer, label.label(), Order.ASCENDING);
+            OrderedBytes.encodeInt8(buffer, label.type() == ElementType.VERTEX ? (byte) 1 : (byte) 0, Order.ASCENDING);
+        });
     }
 
     public LabelMetadata deserialize(Result result) {
@@ -87,14 +83,14 @@ public class LabelMetadataModel extends BaseModel {
         for (Cell cell : result.listCells()) {
             String key = Bytes.toString(CellUtil.cloneQualifier(cell));
             if (!Graph.Hidden.isHidden(key)) {
-                ValueType propType = ValueType.valueOf(((Byte)ValueUtils.deserialize(CellUtil.cloneValue(cell))).intValue());
+                ValueType propType = ValueType.valueOf(((Byte)ValueUtils.deserializeValue(cell)).intValue());
                 props.put(key, propType);
             } else if (key.equals(Constants.ELEMENT_ID)) {
-                idType = ValueType.valueOf(((Byte)ValueUtils.deserialize(CellUtil.cloneValue(cell))).intValue());
+                idType = ValueType.valueOf(((Byte)ValueUtils.deserializeValue(cell)).intValue());
             } else if (key.equals(Constants.CREATED_AT)) {
-                createdAt = ValueUtils.deserialize(CellUtil.cloneValue(cell));
+                createdAt = ValueUtils.deserializeValue(cell);
             } else if (key.equals(Constants.UPDATED_AT)) {
-                updatedAt = ValueUtils.deserialize(CellUtil.cloneValue(cell));
+                updatedAt = ValueUtils.deserializeValue(cell);
             }
         }
         return new LabelMetadata(type, label, idType, createdAt, updatedAt, props);
@@ -0,0 +1,218 @@
+package io.hgraphdb.models;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.hgraphdb.Constants;
+import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.HBaseGraphException;
+import io.hgraphdb.HBaseGraphNotUniqueException;
+import io.hgraphdb.ValueUtils;
+import io.hgraphdb.mutators.Mutators;
+import io.hgraphdb.mutators.PropertyKeyWriter;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Order;
+import org.apache.hadoop.hbase.util.OrderedBytes;
+import org.apache.hadoop.hbase.util.PositionedByteRange;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A dictionary of the property keys and labels of a graph, which when enabled replaces them with
+ * compact ids in the qualifiers of element cells and in the row keys of indices.  Ids are assigned
+ * once and never change, so both directions are cached for the life of the graph.  Hidden keys
+ * are never replaced.
+ *
+ * An id is written as a varint whose first byte is in the range 0x80-0xBF, which cannot start a
+ * UTF-8 string, so that names and ids can be told apart when reading.  The first byte holds the
+ * low 5 bits of the id and a continuation bit, and any further bytes hold 7 bits each.
+ */
+public class PropertyKeyModel extends BaseModel {
+
+    private static final byte[] COUNTER_ROW = ValueUtils.serialize(Constants.ELEMENT_ID);
+
+    private final Map<String, byte[]> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+    /* Names found to have no id, so that reads of them do not look them up every time */
+    private final Cache<String, Boolean> missing;
+
+    /*
+     * If the table is null, the dictionary is disabled and names are written as they are.
+     */
+    public PropertyKeyModel(HBaseGraph graph, Table table) {
+        super(graph, table);
+        // another client may assign an id later, so misses are only remembered as long as the schema is
+        this.missing = CacheBuilder.newBuilder()
+                .expireAfterWrite(graph.configuration().getSchemaCacheRefreshSecs(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return table != null;
+    }
+
+    /*
+     * Returns the qualifier for a property key, assigning the key an id if it does not have one.
+     */
+    public byte[] qualifierForWrite(String key) {
+        if (!isEnabled() || Graph.Hidden.isHidden(key)) return Bytes.toBytes(key);
+        return getOrCreateId(key);
+    }
+
+    /*
+     * Returns the qualifier for a property key, which is the key itself if it has no id.
+     */
+    public byte[] qualifierForRead(String key) {
+        if (!isEnabled() || Graph.Hidden.isHidden(key)) return Bytes.toBytes(key);
+        byte[] id = getId(key);
+        return id != null ? id : Bytes.toBytes(key);
+    }
+
+    /*
+     * Returns the property key of a qualifier, which is either an id or the key itself.
+     */
+    public String key(byte[] bytes, int offset, int length) {
+        if (length == 0 || !isId(bytes[offset])) return Bytes.toString(bytes, offset, length);
+        int id = decodeId(bytes, offset);
+        return name(id);
+    }
+
+    /*
+     * Encodes a property key or label in an index row, assigning it an id if it does not have one.
+     */
+    public void encodeForWrite(PositionedByteRange buffer, String name) {
+        if (!isEnabled() || name == null || Graph.Hidden.isHidden(name)) {
+            OrderedBytes.encodeString(buffer, name, Order.ASCENDING);
+        } else {
+            buffer.put(getOrCreateId(name));
+        }
+    }
+
+    /*
+     * Encodes a property key or label in an index row, as itself if it has no id.
+     */
+    public void encodeForRead(PositionedByteRange buffer, String name) {
+        byte[] id = isEnabled() && name != null && !Graph.Hidden.isHidden(name) ? getId(name) : null;
+        if (id != null) {
+            buffer.put(id);
+        } else {
+            OrderedBytes.encodeString(buffer, name, Order.ASCENDING);
+        }
+    }
+
+    public String decode(PositionedByteRange buffer) {
+        if (!isId(buffer.peek())) return OrderedBytes.decodeString(buffer);
+        int b = buffer.get();
+        int id = b & 0x1f;
+        for (int shift = 5; (b & (shift == 5 ? 0x20 : 0x80)) != 0; shift += 7) {
+            b = buffer.get();
+            id |= (b & 0x7f) << shift;
+        }
+        return name(id);
+    }
+
+    private static boolean isId(byte b) {
+        return (b & 0xc0) == 0x80;
+    }
+
+    private static int decodeId(byte[] bytes, int offset) {
+        int b = bytes[offset++];
+        int id = b & 0x1f;
+        for (int shift = 5; (b & (shift == 5 ? 0x20 : 0x80)) != 0; shift += 7) {
+            b = bytes[offset++];
+            id |= (b & 0x7f) << shift;
+        }
+        return id;
+    }
+
+    private static byte[] encodeId(int id) {
+        int length = 1;
+        for (int rest = id >>> 5; rest != 0; rest >>>= 7) length++;
+        byte[] bytes = new byte[length];
+        int rest = id >>> 5;
+        bytes[0] = (byte) (0x80 | (rest != 0 ? 0x20 : 0) | (id & 0x1f));
+        for (int i = 1; i < length; i++) {
+            bytes[i] = (byte) ((rest >>> 7 != 0 ? 0x80 : 0) | (rest & 0x7f));
+            rest >>>= 7;
+        }
+        return bytes;
+    }
+
+    private String name(int id) {
+        String name = names.get(id);
+        if (name != null) return name;
+        try {
+            Result result = table.get(new Get(ValueUtils.serialize(id)));
+            Cell cell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.PROPERTY_KEY_BYTES);
+            if (cell == null) {
+                throw new HBaseGraphException("Property key with id " + id + " does not exist");
+            }
+            name = ValueUtils.deserializeValue(cell);
+            names.put(id, name);
+            return name;
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    private byte[] getId(String name) {
+        byte[] id = ids.get(name);
+        if (id != null) return id;
+        if (missing.getIfPresent(name) != null) return null;
+        try {
+            Result result = table.get(new Get(ValueUtils.serialize(name)));
+            Cell cell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.ELEMENT_ID_BYTES);
+            if (cell == null) {
+                missing.put(name, Boolean.TRUE);
+                return null;
+            }
+            Integer value = ValueUtils.deserializeValue(cell);
+            names.put(value, name);
+            id = encodeId(value);
+            ids.put(name, id);
+            return id;
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    /*
+     * Assigns the next id to the name, unless another client assigns it one first.  The id row is
+     * written before the name row, so that any id found in a name row can be read back.
+     */
+    private byte[] getOrCreateId(String name) {
+        byte[] id = getId(name);
+        if (id != null) return id;
+        missing.invalidate(name);
+        try {
+            int value = (int) table.incrementColumnValue(COUNTER_ROW,
+                    Constants.DEFAULT_FAMILY_BYTES, Constants.ELEMENT_ID_BYTES, 1) - 1;
+            Put put = new Put(ValueUtils.serialize(value));
+            put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.PROPERTY_KEY_BYTES, ValueUtils.serialize(name));
+            table.put(put);
+            Mutators.create(table, new PropertyKeyWriter(graph, name, value));
+            names.put(value, name);
+            id = encodeId(value);
+            ids.put(name, id);
+            return id;
+        } catch (HBaseGraphNotUniqueException e) {
+            missing.invalidate(name);
+            return getId(name);
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
+        }
+    }
+
+    @Override
+    public void close(boolean clear) {
+        if (isEnabled()) super.close(clear);
+    }
+}
@@ -1,5 +1,6 @@
 package io.hgraphdb.models;
 
+import com.google.common.collect.Iterators;
 import io.hgraphdb.*;
 import io.hgraphdb.mutators.Mutator;
 import io.hgraphdb.mutators.Mutators;
@@ -7,7 +8,7 @@ import io.hgraphdb.mutators.VertexIndexRemover;
 import io.hgraphdb.mutators.VertexIndexWriter;
 import io.hgraphdb.readers.VertexIndexReader;
 import org.apache.hadoop.hbase.Cell;
-import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
@@ -18,16 +19,14 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.*;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public class VertexIndexModel extends BaseModel {
 
-    public VertexIndexModel(HBaseGraph graph, Table table) {
-        super(graph, table);
+    public VertexIndexModel(HBaseGraph graph, Table table, BufferedMutator mutator) {
+        super(graph, table, mutator);
     }
 
     public void writeVertexIndex(Vertex vertex) {
@@ -35,28 +34,47 @@ public class VertexIndexModel extends BaseModel {
         ((HBaseVertex) vertex).setIndexTs(now);
         Iterator<IndexMetadata> indices = ((HBaseVertex) vertex).getIndices(OperationType.WRITE);
         VertexIndexWriter writer = new VertexIndexWriter(graph, vertex, indices, now);
-        Mutators.create(table, writer);
+        Mutators.create(table, mutator, writer);
     }
 
     public void writeVertexIndex(Vertex vertex, String key) {
         VertexIndexWriter writer = new VertexIndexWriter(graph, vertex, key);
-        Mutators.create(table, writer);
+        Mutators.create(table, mutator, writer);
     }
 
     public void writeVertexIndex(Vertex vertex, IndexMetadata index) {
         VertexIndexWriter writer = new VertexIndexWriter(graph, vertex, IteratorUtils.of(index), null);
-        Mutators.create(table, writer);
+        Mutators.create(table, mutator, writer);
+    }
+
+    public void writeVertexIndex(Vertex vertex, List<IndexMetadata> indices) {
+        VertexIndexWriter writer = new VertexIndexWriter(graph, vertex, indices.iterator(), null);
+        Mutators.create(table, mutator, writer);
     }
 
     public void deleteVertexIndex(Vertex vertex, Long ts) {
         Iterator<IndexMetadata> indices = ((HBaseVertex) vertex).getIndices(OperationType.WRITE);
         VertexIndexRemover writer = new VertexIndexRemover(graph, vertex, indices, ts);
-        Mutators.write(table, writer);
+        Mutators.write(table, mutator, writer);
+    }
+
+    public void deleteVertexIndex(Vertex vertex, IndexMetadata index, Long ts) {
+        VertexIndexRemover writer = new VertexIndexRemover(graph, vertex, IteratorUtils.of(index), ts);
+        Mutators.write(table, mutator, writer);
+    }
+
+    public void deleteVertexIndex(Vertex vertex, List<IndexMetadata> indices, Long ts) {
+        VertexIndexRemover writer = new VertexIndexRemover(graph, vertex, indices.iterator(), ts);
+        Mutators.write(table, mutator, writer);
     }
 
     public void deleteVertexIndex(Vertex vertex, String key, Long ts) {
         Mutator writer = new VertexIndexRemover(graph, vertex, key, ts);
-        Mutators.write(table, writer);
+        Mutators.write(table, mutator, writer);
+    }
+
+    public Iterator<Vertex> vertices(String label) {
+        return vertices(getVertexIndexScan(label, false, Constants.LABEL, null), vertex -> label.equals(vertex.label()));
     }
 
     public Iterator<Vertex> vertices(String label, boolean isUnique, String key, Object value) {
@@ -77,33 +95,72 @@ public class VertexIndexModel extends BaseModel {
         });
     }
 
+    public Iterator<Vertex> vertices(IndexMetadata index, List<Object> values, Object inclusiveFrom, Object exclusiveTo) {
+        Scan scan = getVertexIndexScan(index.label(), index.isUnique(), index.propertyKey(), values, inclusiveFrom, exclusiveTo);
+        return vertices(scan, compositeFilter(index.propertyKeys(), values, inclusiveFrom, exclusiveTo));
+    }
+
+    /*
+     * Matches vertices whose values for a prefix of the keys equal the given values,
+     * and whose value for the next key falls within the given range.
+     */
+    static Predicate<HBaseVertex> compositeFilter(List<String> keys, List<Object> values,
+                                                  Object inclusiveFrom, Object exclusiveTo) {
+        List<byte[]> valueBytes = values.stream().map(ValueUtils::serialize).collect(Collectors.toList());
+        byte[] fromBytes = inclusiveFrom != null ? ValueUtils.serialize(inclusiveFrom) : null;
+        byte[] toBytes = exclusiveTo != null ? ValueUtils.serialize(exclusiveTo) : null;
+        return vertex -> {
+            for (int i = 0; i < valueBytes.size(); i++) {
+                byte[] propValueBytes = ValueUtils.serialize(vertex.getProperty(keys.get(i)));
+                if (Bytes.compareTo(propValueBytes, valueBytes.get(i)) != 0) return false;
+            }
+            if (fromBytes != null || toBytes != null) {
+                Object propValue = vertex.getProperty(keys.get(valueBytes.size()));
+                if (propValue == null) return false;
+                byte[] propValueBytes = ValueUtils.serialize(propValue);
+                if (fromBytes != null && Bytes.compareTo(propValueBytes, fromBytes) < 0) return false;
+                if (toBytes != null && Bytes.compareTo(propValueBytes, toBytes) >= 0) return false;
+            }
+            return true;
+        };
+    }
+
+    /*
+     * Scan the index rows in chunks of multiGetBatchSize.  When lazy loading is off,
+     * the vertices of each chunk are fetched with one multi-get before the filter is applied.
+     */
     private Iterator<Vertex> vertices(Scan scan, Predicate<HBaseVertex> filter) {
         final VertexIndexReader parser = new VertexIndexReader(graph);
+        final int batchSize = graph.configuration().getMultiGetBatchSize();
         ResultScanner scanner;
         try {
             scanner = table.getScanner(scan);
-            return IteratorUtils.<Result, Vertex>flatMap(
-                    IteratorUtils.concat(scanner.iterator(), IteratorUtils.of(Result.EMPTY_RESULT)),
-                    result -> {
-                        if (result == Result.EMPTY_RESULT) {
-                            scanner.close();
-                            return Collections.emptyIterator();
+            Iterator<Result> results = IteratorUtils.concat(scanner.iterator(), IteratorUtils.of(Result.EMPTY_RESULT));
+            return IteratorUtils.<List<Result>, Vertex>flatMap(
+                    Iterators.partition(results, batchSize),
+                    batch -> {
+                        List<HBaseVertex> vertices = new ArrayList<>(batch.size());
+                        for (Result result : batch) {
+                            if (result == Result.EMPTY_RESULT) {
+                                scanner.close();
+                            } else {
+                                vertices.add((HBaseVertex) parser.parse(result));
+                            }
+                        }
+                        boolean isLazy = graph.isLazyLoading();
+                        Set<HBaseVertex> found = Collections.newSetFromMap(new IdentityHashMap<>());
+                        if (!isLazy) {
+                            found.addAll(graph.getVertexModel().load(vertices));
                         }
-                        HBaseVertex vertex = (HBaseVertex) parser.parse(result);
-                        try {
-                            boolean isLazy = graph.isLazyLoading();
-                            if (!isLazy) vertex.load();
-                            boolean passesFilter = isLazy || filter.test(vertex);
-                            if (passesFilter) {
-                                return IteratorUtils.of(vertex);
+                        List<Vertex> passed = new ArrayList<>(vertices.size());
+                        for (HBaseVertex vertex : vertices) {
+                            if (isLazy || (found.contains(vertex) && filter.test(vertex))) {
+                                passed.add(vertex);
                             } else {
                                 vertex.removeStaleIndex();
-                                return Collections.emptyIterator();
                             }
-                        } catch (final HBaseGraphNotFoundException e) {
-                            vertex.removeStaleIndex();
-                            return Collections.emptyIterator();
                         }
+                        return passed.iterator();
                     });
         } catch (IOException e) {
             throw new HBaseGraphException(e);
@@ -123,56 +180,106 @@ public class VertexIndexModel extends BaseModel {
         return new Scan(startRow, endRow);
     }
 
+    private Scan getVertexIndexScan(String label, boolean isUnique, String key, List<Object> values,
+                                    Object inclusiveFrom, Object exclusiveTo) {
+        byte[] prefix = serializeForRead(label, isUnique, key, values);
+        byte[] startRow = inclusiveFrom != null ? serializeForRead(label, isUnique, key, append(values, inclusiveFrom)) : prefix;
+        Scan scan = new Scan(startRow);
+        if (exclusiveTo != null) {
+            scan.setStopRow(serializeForRead(label, isUnique, key, append(values, exclusiveTo)));
+        }
+        scan.setFilter(new PrefixFilter(prefix));
+        return scan;
+    }
+
+    private static List<Object> append(List<Object> values, Object value) {
+        List<Object> result = new ArrayList<>(values);
+        result.add(value);
+        return result;
+    }
+
+    /*
+     * Returns the prefix of all rows of the index with the given label and key.
+     */
+    public byte[] serializeIndexPrefix(String label, boolean isUnique, String key) {
+        return serializeForRead(label, isUnique, key, Collections.emptyList());
+    }
+
+    public byte[] serializeForRead(String label, boolean isUnique, String key, List<Object> values) {
+        return ValueUtils.encode(buffer -> {
+            graph.getPropertyKeyModel().encodeForRead(buffer, label);
+            OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
+            graph.getPropertyKeyModel().encodeForRead(buffer, key);
+            for (Object value : values) {
+                ValueUtils.serialize(buffer, value);
+            }
+        });
+    }
+
     public byte[] serializeForRead(String label, boolean isUnique, String key, Object value) {
-        PositionedByteRange buffer = new SimplePositionedMutableByteRange(4096);
-        OrderedBytes.encodeString(buffer, label, Order.ASCENDING);
-        OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
-        OrderedBytes.encodeString(buffer, key, Order.ASCENDING);
-        ValueUtils.serialize(buffer, value);
-        buffer.setLength(buffer.getPosition());
-        buffer.setPosition(0);
-        byte[] bytes = new byte[buffer.getRemaining()];
-        buffer.get(bytes);
-        return bytes;
+        return ValueUtils.encode(buffer -> {
+            graph.getPropertyKeyModel().encodeForRead(buffer, label);
+            OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
+            graph.getPropertyKeyModel().encodeForRead(buffer, key);
+            ValueUtils.serialize(buffer, value);
+        });
     }
 
     public byte[] serializeForWrite(Vertex vertex, boolean isUnique, String key) {
-        PositionedByteRange buffer = new SimplePositionedMutableByteRange(4096);
-        OrderedBytes.encodeString(buffer, vertex.label(), Order.ASCENDING);
-        OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
-        OrderedBytes.encodeString(buffer, key, Order.ASCENDING);
-        ValueUtils.serialize(buffer, vertex.value(key));
-        if (!isUnique) {
-            ValueUtils.serialize(buffer, vertex.id());
-        }
-        buffer.setLength(buffer.getPosition());
-        buffer.setPosition(0);
-        byte[] bytes = new byte[buffer.getRemaining()];
-        buffer.get(bytes);
-        return bytes;
+        return ValueUtils.encode(buffer -> {
+            graph.getPropertyKeyModel().encodeForWrite(buffer, vertex.label());
+            OrderedBytes.encodeInt8(buffer, isUnique ? (byte) 1 : (byte) 0, Order.ASCENDING);
+            graph.getPropertyKeyModel().encodeForWrite(buffer, key);
+            if (key.equals(Constants.LABEL)) {
+                // the label index carries no value, the label is already the row prefix
+                ValueUtils.serialize(buffer, null);
+            } else {
+                for (String propertyKey : IndexMetadata.splitPropertyKey(key)) {
+                    ValueUtils.serialize(buffer, vertex.value(propertyKey));
+                }
+            }
+            if (!isUnique) {
+                ValueUtils.serialize(buffer, vertex.id());
+            }
+        });
     }
 
     public Vertex deserialize(Result result) {
+        HBaseVertex newVertex = deserializeUncached(result);
+        HBaseVertex vertex = (HBaseVertex) graph.findOrCreateVertex(newVertex.id());
+        vertex.copyFrom(newVertex);
+        vertex.setIndexKey(newVertex.getIndexKey());
+        vertex.setIndexTs(newVertex.getIndexTs());
+        return vertex;
+    }
+
+    /*
+     * Parse the index row into a vertex that is not cached, with only the indexed properties.
+     */
+    public HBaseVertex deserializeUncached(Result result) {
         byte[] bytes = result.getRow();
         PositionedByteRange buffer = new SimplePositionedByteRange(bytes);
-        String label = OrderedBytes.decodeString(buffer);
+        String label = graph.getPropertyKeyModel().decode(buffer);
         boolean isUnique = OrderedBytes.decodeInt8(buffer) == 1;
-        String key = OrderedBytes.decodeString(buffer);
-        Object value = ValueUtils.deserialize(buffer);
+        String key = graph.getPropertyKeyModel().decode(buffer);
+        Map<String, Object> properties = new HashMap<>();
+        if (key.equals(Constants.LABEL)) {
+            ValueUtils.deserialize(buffer);
+        } else {
+            for (String propertyKey : IndexMetadata.splitPropertyKey(key)) {
+                properties.put(propertyKey, ValueUtils.deserialize(buffer));
+            }
+        }
         Object vertexId;
         if (isUnique) {
             Cell vertexIdCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.VERTEX_ID_BYTES);
-            vertexId = ValueUtils.deserialize(CellUtil.cloneValue(vertexIdCell));
+            vertexId = ValueUtils.deserializeValue(vertexIdCell);
         } else {
             vertexId = ValueUtils.deserialize(buffer);
         }
         Cell createdAtCell = result.getColumnLatestCell(Constants.DEFAULT_FAMILY_BYTES, Constants.CREATED_AT_BYTES);
-        Long createdAt = ValueUtils.deserialize(CellUtil.cloneValue(createdAtCell));
-        Map<String, Object> properties = new HashMap<>();
-        properties.put(key, value);
-        HBaseVertex newVertex = new HBaseVertex(graph, vertexId, label, createdAt, null, properties, false);
-        HBaseVertex vertex = (HBaseVertex) graph.findOrCreateVertex(vertexId);
-        vertex.copyFrom(newVertex);
+        Long createdAt = ValueUtils.deserializeValue(createdAtCell);
+        HBaseVertex vertex = new HBaseVertex(graph, vertexId, label, createdAt, null, properties, false);
         vertex.setIndexKey(new IndexMetadata.Key(ElementType.VERTEX, label, key));
         vertex.setIndexTs(createdAtCell.getTimestamp());
         return vertex;
@@ -7,11 +7,11 @@ import io.hgraphdb.mutators.Mutators;
 import io.hgraphdb.mutators.VertexRemover;
 import io.hgraphdb.mutators.VertexWriter;
 import io.hgraphdb.readers.VertexReader;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.filter.PageFilter;
-import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -20,13 +20,15 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
 
 public class VertexModel extends ElementModel {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(VertexModel.class);
 
-    public VertexModel(HBaseGraph graph, Table table) {
-        super(graph, table);
+    public VertexModel(HBaseGraph graph, Table table, BufferedMutator mutator) {
+        super(graph, table, mutator);
     }
 
     public VertexReader getReader() {
@@ -34,13 +36,17 @@ public class VertexModel extends ElementModel {
     }
 
     public void writeVertex(Vertex vertex) {
-        Creator creator = new VertexWriter(graph, vertex);
-        Mutators.create(table, creator);
+        writeVertex(vertex, false);
+    }
+
+    public void writeVertex(Vertex vertex, boolean upsert) {
+        Creator creator = new VertexWriter(graph, vertex, upsert);
+        Mutators.create(table, mutator, creator);
     }
 
     public void deleteVertex(Vertex vertex) {
         Mutator writer = new VertexRemover(graph, vertex);
-        Mutators.write(table, writer);
+        Mutators.write(table, mutator, writer);
     }
 
     public Iterator<Vertex> vertices() {
@@ -70,6 +76,11 @@ public class VertexModel extends ElementModel {
     }
 
     public Iterator<Vertex> vertices(String label) {
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.VERTEX, label, Constants.LABEL);
+        if (index != null) {
+            LOGGER.debug("Using vertex label index for {}", label);
+            return graph.getVertexIndexModel().vertices(label);
+        }
         final VertexReader parser = new VertexReader(graph);
 
         Scan scan = getPropertyScan(label);
@@ -87,7 +98,7 @@ public class VertexModel extends ElementModel {
         final VertexReader parser = new VertexReader(graph);
 
         byte[] val = ValueUtils.serialize(value);
-        final byte[] keyBytes = Bytes.toBytes(key);
+        final byte[] keyBytes = graph.getPropertyKeyModel().qualifierForRead(key);
         Scan scan = getPropertyScan(keyBytes, val);
         ResultScanner scanner = null;
         try {
@@ -108,7 +119,7 @@ public class VertexModel extends ElementModel {
         final VertexReader parser = new VertexReader(graph);
 
         byte[] val = ValueUtils.serialize(value);
-        final byte[] keyBytes = Bytes.toBytes(key);
+        final byte[] keyBytes = graph.getPropertyKeyModel().qualifierForRead(key);
         Scan scan = getPropertyScan(label, keyBytes, val);
         ResultScanner scanner = null;
         try {
@@ -119,6 +130,21 @@ public class VertexModel extends ElementModel {
         }
     }
 
+    public Iterator<Vertex> vertices(String label, List<String> keys, List<Object> values,
+                                     Object inclusiveFrom, Object exclusiveTo) {
+        boolean hasRange = inclusiveFrom != null || exclusiveTo != null;
+        if (values.size() > keys.size() || (hasRange && values.size() == keys.size())) {
+            throw new IllegalArgumentException("Too many values for composite index on " + keys);
+        }
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.VERTEX, label, IndexMetadata.joinPropertyKeys(keys));
+        if (index != null) {
+            LOGGER.debug("Using composite vertex index for ({}, {})", label, keys);
+            return graph.getVertexIndexModel().vertices(index, values, inclusiveFrom, exclusiveTo);
+        }
+        Predicate<HBaseVertex> filter = VertexIndexModel.compositeFilter(keys, values, inclusiveFrom, exclusiveTo);
+        return IteratorUtils.filter(vertices(label), vertex -> filter.test((HBaseVertex) vertex));
+    }
+
     public Iterator<Vertex> vertices(String label, String key, Object inclusiveFrom, Object exclusiveTo) {
         ElementHelper.validateProperty(key, inclusiveFrom);
         ElementHelper.validateProperty(key, exclusiveTo);
@@ -131,7 +157,7 @@ public class VertexModel extends ElementModel {
 
         byte[] fromVal = ValueUtils.serialize(inclusiveFrom);
         byte[] toVal = ValueUtils.serialize(exclusiveTo);
-        final byte[] keyBytes = Bytes.toBytes(key);
+        final byte[] keyBytes = graph.getPropertyKeyModel().qualifierForRead(key);
         Scan scan = getPropertyScan(label, keyBytes, fromVal, toVal);
         ResultScanner scanner = null;
         try {
@@ -16,10 +16,17 @@ public class EdgeWriter implements Creator {
 
     private final HBaseGraph graph;
     private final Edge edge;
+    /* If true, the put is sent without checking whether the element already exists */
+    private final boolean upsert;
 
     public EdgeWriter(HBaseGraph graph, Edge edge) {
+        this(graph, edge, false);
+    }
+
+    public EdgeWriter(HBaseGraph graph, Edge edge, boolean upsert) {
         this.graph = graph;
         this.edge = edge;
+        this.upsert = upsert;
     }
 
     @Override
@@ -45,8 +52,12 @@ public class EdgeWriter implements Creator {
         ((HBaseEdge) edge).getProperties().entrySet().stream()
                 .forEach(entry -> {
                     byte[] bytes = ValueUtils.serialize(entry.getValue());
-                    put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Bytes.toBytes(entry.getKey()), bytes);
+                    put.addColumn(Constants.DEFAULT_FAMILY_BYTES, graph.getPropertyKeyModel().qualifierForWrite(entry.getKey()), bytes);
                 });
+        if (upsert) {
+            put.setAttribute(Mutators.IS_UNIQUE, Bytes.toBytes(false));
+        }
+
         return IteratorUtils.of(put);
     }
 
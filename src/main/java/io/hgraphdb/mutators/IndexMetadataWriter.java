@@ -32,6 +32,8 @@ public class IndexMetadataWriter implements Creator, Mutator {
         Put put = new Put(graph.getIndexMetadataModel().serialize(index.key()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.UNIQUE_BYTES,
                 ValueUtils.serialize(index.isUnique()));
+        put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.GLOBAL_BYTES,
+                ValueUtils.serialize(index.isGlobal()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.INDEX_STATE_BYTES,
                 ValueUtils.serialize(index.state().toString()));
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.CREATED_AT_BYTES,
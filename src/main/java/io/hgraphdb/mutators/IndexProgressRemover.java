@@ -0,0 +1,33 @@
+package io.hgraphdb.mutators;
+
+import io.hgraphdb.Constants;
+import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.IndexMetadata;
+import io.hgraphdb.ValueUtils;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Iterator;
+
+public class IndexProgressRemover implements Mutator {
+
+    private final HBaseGraph graph;
+    private final IndexMetadata.Key indexKey;
+    private final byte[] prefix;
+
+    public IndexProgressRemover(HBaseGraph graph, IndexMetadata.Key indexKey, byte[] prefix) {
+        this.graph = graph;
+        this.indexKey = indexKey;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Iterator<Mutation> constructMutations() {
+        Delete delete = new Delete(graph.getIndexMetadataModel().serialize(indexKey));
+        for (int bucket = 0; bucket < ValueUtils.DEFAULT_NUM_BUCKETS; bucket++) {
+            delete.addColumns(Constants.DEFAULT_FAMILY_BYTES, IndexProgressWriter.qualifier(prefix, bucket));
+        }
+        return IteratorUtils.of(delete);
+    }
+}
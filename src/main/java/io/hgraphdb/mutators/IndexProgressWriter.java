@@ -0,0 +1,52 @@
+package io.hgraphdb.mutators;
+
+import io.hgraphdb.Constants;
+import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.IndexMetadata;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Iterator;
+
+public class IndexProgressWriter implements Mutator {
+
+    private final HBaseGraph graph;
+    private final IndexMetadata.Key indexKey;
+    private final byte[] prefix;
+    private final int bucket;
+    private final byte[] lastRow;
+
+    /*
+     * Records the last row indexed in the given salt bucket; a null row marks the bucket as done.
+     */
+    public IndexProgressWriter(HBaseGraph graph, IndexMetadata.Key indexKey, int bucket, byte[] lastRow) {
+        this(graph, indexKey, Constants.INDEX_PROGRESS_BYTES, bucket, lastRow);
+    }
+
+    /*
+     * Records progress under the given qualifier prefix, which keeps the progress of
+     * populating and purging an index apart.
+     */
+    public IndexProgressWriter(HBaseGraph graph, IndexMetadata.Key indexKey, byte[] prefix, int bucket, byte[] lastRow) {
+        this.graph = graph;
+        this.indexKey = indexKey;
+        this.prefix = prefix;
+        this.bucket = bucket;
+        this.lastRow = lastRow;
+    }
+
+    @Override
+    public Iterator<Mutation> constructMutations() {
+        Put put = new Put(graph.getIndexMetadataModel().serialize(indexKey));
+        put.addColumn(Constants.DEFAULT_FAMILY_BYTES, qualifier(prefix, bucket),
+                lastRow != null ? lastRow : HConstants.EMPTY_BYTE_ARRAY);
+        return IteratorUtils.of(put);
+    }
+
+    public static byte[] qualifier(byte[] prefix, int bucket) {
+        return Bytes.add(prefix, new byte[] { (byte) bucket });
+    }
+}
@@ -3,6 +3,7 @@ package io.hgraphdb.mutators;
 import io.hgraphdb.Constants;
 import io.hgraphdb.HBaseElement;
 import io.hgraphdb.HBaseGraphException;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Table;
@@ -18,20 +19,43 @@ public class Mutators {
     public static final String IS_UNIQUE = "isUnique";
 
     public static void create(Table table, Creator... creators) {
+        create(table, null, creators);
+    }
+
+    /*
+     * Unique puts are always checked and put synchronously; the rest are sent to the
+     * mutator if one is given, or else to the table in a single batch.  The mutator is
+     * flushed before the first check, so that buffered deletes are applied before it.
+     */
+    public static void create(Table table, BufferedMutator mutator, Creator... creators) {
         List<Mutation> batch = new ArrayList<>();
+        boolean flushed = mutator == null;
         for (Creator creator : creators) {
             Iterator<Put> insertions = creator.constructInsertions();
-            insertions.forEachRemaining(put -> {
+            while (insertions.hasNext()) {
+                Put put = insertions.next();
                 byte[] isUniqueBytes = put.getAttribute(IS_UNIQUE);
                 boolean isUnique = isUniqueBytes == null || Bytes.toBoolean(isUniqueBytes);
                 if (isUnique) {
+                    if (!flushed) {
+                        flush(mutator);
+                        flushed = true;
+                    }
                     create(table, creator, put);
                 } else {
                     batch.add(put);
                 }
-            });
+            }
+        }
+        write(table, mutator, batch);
+    }
+
+    private static void flush(BufferedMutator mutator) {
+        try {
+            mutator.flush();
+        } catch (IOException e) {
+            throw new HBaseGraphException(e);
         }
-        write(table, batch);
     }
 
     private static void create(Table table, Creator creator, Put put) {
@@ -52,15 +76,27 @@ public class Mutators {
     }
 
     public static void write(Table table, Mutator... writers) {
+        write(table, null, writers);
+    }
+
+    public static void write(Table table, BufferedMutator mutator, Mutator... writers) {
         List<Mutation> batch = new ArrayList<>();
         for (Mutator writer : writers) {
             writer.constructMutations().forEachRemaining(batch::add);
         }
-        write(table, batch);
+        write(table, mutator, batch);
     }
 
-    private static void write(Table table, List<Mutation> mutations) {
+    private static void write(Table table, BufferedMutator mutator, List<Mutation> mutations) {
         if (mutations.size() == 0) return;
+        if (mutator != null) {
+            try {
+                mutator.mutate(mutations);
+                return;
+            } catch (IOException e) {
+                throw new HBaseGraphException(e);
+            }
+        }
         Object[] results = new Object[mutations.size()];
         try {
             table.batch(mutations, results);
@@ -0,0 +1,46 @@
+package io.hgraphdb.mutators;
+
+import io.hgraphdb.Constants;
+import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.HBaseGraphNotUniqueException;
+import io.hgraphdb.ValueUtils;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Iterator;
+
+public class PropertyKeyWriter implements Creator {
+
+    private final HBaseGraph graph;
+    private final String name;
+    private final int id;
+
+    public PropertyKeyWriter(HBaseGraph graph, String name, int id) {
+        this.graph = graph;
+        this.name = name;
+        this.id = id;
+    }
+
+    @Override
+    public Element getElement() {
+        return null;
+    }
+
+    @Override
+    public Iterator<Put> constructInsertions() {
+        Put put = new Put(ValueUtils.serialize(name));
+        put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.ELEMENT_ID_BYTES, ValueUtils.serialize(id));
+        return IteratorUtils.of(put);
+    }
+
+    @Override
+    public byte[] getQualifierToCheck() {
+        return Constants.ELEMENT_ID_BYTES;
+    }
+
+    @Override
+    public RuntimeException alreadyExists() {
+        return new HBaseGraphNotUniqueException("Property key '" + name + "' already has an id");
+    }
+}
@@ -7,7 +7,6 @@ import io.hgraphdb.ValueUtils;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.Put;
-import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
@@ -29,7 +28,7 @@ public class PropertyRemover implements Mutator {
     public Iterator<Mutation> constructMutations() {
         byte[] idBytes = ValueUtils.serializeWithSalt(element.id());
         Delete delete = new Delete(idBytes);
-        delete.addColumns(Constants.DEFAULT_FAMILY_BYTES, Bytes.toBytes(key));
+        delete.addColumns(Constants.DEFAULT_FAMILY_BYTES, graph.getPropertyKeyModel().qualifierForRead(key));
         Put put = new Put(idBytes);
         put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Constants.UPDATED_AT_BYTES,
                 ValueUtils.serialize(((HBaseElement)element).updatedAt()));
@@ -16,10 +16,17 @@ public final class VertexWriter implements Creator {
 
     private final HBaseGraph graph;
     private final Vertex vertex;
+    /* If true, the put is sent without checking whether the element already exists */
+    private final boolean upsert;
 
     public VertexWriter(HBaseGraph graph, Vertex vertex) {
+        this(graph, vertex, false);
+    }
+
+    public VertexWriter(HBaseGraph graph, Vertex vertex, boolean upsert) {
         this.graph = graph;
         this.vertex = vertex;
+        this.upsert = upsert;
     }
 
     @Override
@@ -41,8 +48,11 @@ public final class VertexWriter implements Creator {
         ((HBaseVertex) vertex).getProperties().entrySet().stream()
                 .forEach(entry -> {
                     byte[] bytes = ValueUtils.serialize(entry.getValue());
-                    put.addColumn(Constants.DEFAULT_FAMILY_BYTES, Bytes.toBytes(entry.getKey()), bytes);
+                    put.addColumn(Constants.DEFAULT_FAMILY_BYTES, graph.getPropertyKeyModel().qualifierForWrite(entry.getKey()), bytes);
                 });
+        if (upsert) {
+            put.setAttribute(Mutators.IS_UNIQUE, Bytes.toBytes(false));
+        }
 
         return IteratorUtils.of(put);
     }
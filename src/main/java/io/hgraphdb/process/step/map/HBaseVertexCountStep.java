@@ -0,0 +1,52 @@
+package io.hgraphdb.process.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.Set;
+
+/*
+ * Replaces a vertex step that is followed by count().  Instead of emitting the matching edges
+ * (or adjacent vertices), it emits the vertex itself with its bulk multiplied by the number of
+ * matches, which the count step then adds up.
+ */
+public final class HBaseVertexCountStep extends AbstractStep<Vertex, Vertex> {
+
+    private final HBaseVertexStep<?> vertexStep;
+
+    public HBaseVertexCountStep(final HBaseVertexStep<?> vertexStep) {
+        super(vertexStep.getTraversal());
+        this.vertexStep = vertexStep;
+    }
+
+    @Override
+    protected Traverser.Admin<Vertex> processNextStart() {
+        while (true) {
+            final Traverser.Admin<Vertex> traverser = this.starts.next();
+            final long count = this.vertexStep.countEdges(traverser.get());
+            if (count > 0) {
+                traverser.setBulk(traverser.bulk() * count);
+                return traverser;
+            }
+        }
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return Collections.singleton(TraverserRequirement.BULK);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.vertexStep);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.vertexStep.hashCode();
+    }
+}
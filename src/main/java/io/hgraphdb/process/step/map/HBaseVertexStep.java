@@ -0,0 +1,183 @@
+package io.hgraphdb.process.step.map;
+
+import io.hgraphdb.ElementType;
+import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.HBaseVertex;
+import io.hgraphdb.IndexMetadata;
+import io.hgraphdb.OperationType;
+import io.hgraphdb.process.step.util.HasContainerUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.javatuples.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/*
+ * A vertex step whose has() containers apply to the incident edges, so that a single
+ * edge label with an indexed key can be answered by the edge index of the vertex.
+ * If it returns vertices, they are the vertices at the other end of the matching edges.
+ */
+public final class HBaseVertexStep<E extends Element> extends VertexStep<E> implements HasContainerHolder {
+
+    private final List<HasContainer> hasContainers = new ArrayList<>();
+    private int limit = -1;
+
+    public HBaseVertexStep(final VertexStep<?> originalVertexStep, final Class<E> returnClass) {
+        super(originalVertexStep.getTraversal(), returnClass, originalVertexStep.getDirection(), originalVertexStep.getEdgeLabels());
+        originalVertexStep.getLabels().forEach(this::addLabel);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /*
+     * Limit the number of edges read for each vertex.  Only applies to steps returning edges
+     * without has containers.
+     */
+    public void setLimit(final int limit) {
+        this.limit = limit;
+    }
+
+    /*
+     * Count the matching edges of the given vertex, without constructing them if an index can be used.
+     */
+    public long countEdges(final Vertex vertex) {
+        String[] edgeLabels = getEdgeLabels();
+        if (vertex instanceof HBaseVertex) {
+            final HBaseVertex hbaseVertex = (HBaseVertex) vertex;
+            if (hasContainers.isEmpty()) {
+                return hbaseVertex.edgeCount(getDirection(), edgeLabels);
+            }
+            if (hasContainers.size() == 1 && edgeLabels.length == 1) {
+                final HasContainer hasContainer = hasContainers.get(0);
+                if (Compare.eq == hasContainer.getBiPredicate()
+                        && hasEdgeIndex(hbaseVertex, edgeLabels[0], hasContainer.getKey(), hasContainer.getValue())) {
+                    long count = 0;
+                    Iterator<Direction> directions = directions();
+                    while (directions.hasNext()) {
+                        count += hbaseVertex.edgeCount(directions.next(), edgeLabels[0], hasContainer.getKey(), hasContainer.getValue());
+                    }
+                    return count;
+                }
+            }
+        }
+        return IteratorUtils.count(lookupEdges(vertex));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected Iterator<E> flatMap(final Traverser.Admin<Vertex> traverser) {
+        final Vertex vertex = traverser.get();
+        final Iterator<Edge> edges = lookupEdges(vertex);
+        if (!returnsVertex()) return (Iterator<E>) edges;
+        if (vertex instanceof HBaseVertex) return (Iterator<E>) ((HBaseVertex) vertex).adjacentVertices(edges);
+        return (Iterator<E>) IteratorUtils.map(edges, edge -> adjacentVertex(vertex, edge));
+    }
+
+    private Vertex adjacentVertex(final Vertex vertex, final Edge edge) {
+        switch (getDirection()) {
+            case OUT:
+                return edge.inVertex();
+            case IN:
+                return edge.outVertex();
+            default:
+                return vertex.id().equals(edge.outVertex().id()) ? edge.inVertex() : edge.outVertex();
+        }
+    }
+
+    private Iterator<Edge> lookupEdges(final Vertex vertex) {
+        String[] edgeLabels = getEdgeLabels();
+        if (vertex instanceof HBaseVertex && hasContainers.isEmpty()) {
+            return limit >= 0
+                    ? ((HBaseVertex) vertex).edges(getDirection(), limit, edgeLabels)
+                    : vertex.edges(getDirection(), edgeLabels);
+        }
+        if (vertex instanceof HBaseVertex && edgeLabels.length == 1) {
+            final HBaseVertex hbaseVertex = (HBaseVertex) vertex;
+            final String label = edgeLabels[0];
+            // find edges by label and key/value
+            for (final HasContainer hasContainer : hasContainers) {
+                if (Compare.eq == hasContainer.getBiPredicate()
+                        && hasEdgeIndex(hbaseVertex, label, hasContainer.getKey(), hasContainer.getValue())) {
+                    Iterator<Edge> edges = IteratorUtils.flatMap(directions(),
+                            direction -> hbaseVertex.edges(direction, label, hasContainer.getKey(), hasContainer.getValue()));
+                    // index rows may be stale when lazy loading, so every container is tested
+                    return IteratorUtils.filter(edges, edge -> HasContainer.testAll(edge, hasContainers));
+                }
+            }
+            // find edges by label and a range of values
+            for (final HasContainer hasContainer : hasContainers) {
+                Pair<Object, Object> range = HasContainerUtils.getRange(hasContainer.getKey(), hasContainers);
+                if (hasEdgeIndex(hbaseVertex, label, hasContainer.getKey(), range.getValue0())
+                        && hasEdgeIndex(hbaseVertex, label, hasContainer.getKey(), range.getValue1())) {
+                    Iterator<Edge> edges = IteratorUtils.flatMap(directions(),
+                            direction -> hbaseVertex.edges(direction, label, hasContainer.getKey(),
+                                    range.getValue0(), range.getValue1()));
+                    return IteratorUtils.filter(edges, edge -> HasContainer.testAll(edge, hasContainers));
+                }
+            }
+        }
+        return IteratorUtils.filter(vertex.edges(getDirection(), edgeLabels), edge -> HasContainer.testAll(edge, hasContainers));
+    }
+
+    /*
+     * Whether the edge index of the vertex can be used to look up the value.  The index compares
+     * serialized values, so the value must have the type that the schema gives the property;
+     * otherwise the edges are compared by value.
+     */
+    private boolean hasEdgeIndex(final HBaseVertex vertex, final String label, final String key, final Object value) {
+        if (Graph.Hidden.isHidden(key)) return false;
+        HBaseGraph graph = (HBaseGraph) vertex.graph();
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label, key);
+        return index != null && !index.isGlobal()
+                && HasContainerUtils.hasSchemaType(graph, ElementType.EDGE, label, key, value);
+    }
+
+    private Iterator<Direction> directions() {
+        return getDirection() == Direction.BOTH
+                ? IteratorUtils.of(Direction.OUT, Direction.IN)
+                : IteratorUtils.of(getDirection());
+    }
+
+    @Override
+    public String toString() {
+        if (this.hasContainers.isEmpty() && this.limit < 0)
+            return super.toString();
+        else if (this.limit < 0)
+            return StringFactory.stepString(this, getDirection(), Arrays.asList(getEdgeLabels()),
+                    getReturnClass().getSimpleName().toLowerCase(), this.hasContainers);
+        else
+            return StringFactory.stepString(this, getDirection(), Arrays.asList(getEdgeLabels()),
+                    getReturnClass().getSimpleName().toLowerCase(), this.hasContainers, "limit(" + this.limit + ")");
+    }
+
+    @Override
+    public List<HasContainer> getHasContainers() {
+        return Collections.unmodifiableList(this.hasContainers);
+    }
+
+    @Override
+    public void addHasContainer(final HasContainer hasContainer) {
+        this.hasContainers.add(hasContainer);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.hasContainers.hashCode() ^ this.limit;
+    }
+}
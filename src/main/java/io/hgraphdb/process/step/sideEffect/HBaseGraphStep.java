@@ -2,20 +2,27 @@ package io.hgraphdb.process.step.sideEffect;
 
 import io.hgraphdb.ElementType;
 import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.IndexMetadata;
 import io.hgraphdb.OperationType;
+import io.hgraphdb.process.step.util.HasContainerUtils;
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.javatuples.Pair;
 
 import java.util.*;
 
+import static io.hgraphdb.process.step.util.HasContainerUtils.hasSchemaType;
+
 public final class HBaseGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder {
 
     private final List<HasContainer> hasContainers = new ArrayList<>();
@@ -28,7 +35,8 @@ public final class HBaseGraphStep<S, E extends Element> extends GraphStep<S, E>
     }
 
     private Iterator<? extends Edge> edges() {
-        return IteratorUtils.filter(this.getTraversal().getGraph().get().edges(this.ids), edge -> HasContainer.testAll((Edge) edge, this.hasContainers));
+        final HBaseGraph graph = (HBaseGraph) this.getTraversal().getGraph().get();
+        return lookupEdges(graph, this.hasContainers, this.ids);
     }
 
     private Iterator<? extends Vertex> vertices() {
@@ -36,18 +44,96 @@ public final class HBaseGraphStep<S, E extends Element> extends GraphStep<S, E>
         return lookupVertices(graph, this.hasContainers, this.ids);
     }
 
+    private Iterator<Edge> lookupEdges(final HBaseGraph graph, final List<HasContainer> hasContainers, final Object... ids) {
+        // ids are present, filter on them first
+        if (ids.length > 0)
+            return IteratorUtils.filter(graph.edges(ids), edge -> HasContainer.testAll(edge, hasContainers));
+        // get a label being search on
+        Optional<String> label = getLabel(hasContainers);
+        if (label.isPresent()) {
+            // find an edge by label and key/value, using a global index if there is one
+            HasContainer eqContainer = null;
+            for (final HasContainer hasContainer : hasContainers) {
+                if (Compare.eq == hasContainer.getBiPredicate() && hasContainer.getValue() != null
+                        && !Graph.Hidden.isHidden(hasContainer.getKey())) {
+                    IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label.get(), hasContainer.getKey());
+                    if (index != null && index.isGlobal()) {
+                        return IteratorUtils.filter(graph.allEdges(label.get(), hasContainer.getKey(), hasContainer.getValue()),
+                                edge -> HasContainer.testAll(edge, hasContainers));
+                    }
+                    if (eqContainer == null && hasSchemaType(graph, ElementType.EDGE, label.get(), hasContainer.getKey(), hasContainer.getValue())) {
+                        eqContainer = hasContainer;
+                    }
+                }
+            }
+            // find an edge by label and one of several values
+            for (final HasContainer hasContainer : hasContainers) {
+                if (Contains.within == hasContainer.getBiPredicate() && hasContainer.getValue() instanceof Collection
+                        && hasGlobalEdgeIndex(graph, label.get(), hasContainer.getKey())) {
+                    Set<Object> seen = new HashSet<>();
+                    Iterator<Edge> candidates = IteratorUtils.flatMap(((Collection<?>) hasContainer.getValue()).iterator(),
+                            value -> graph.allEdges(label.get(), hasContainer.getKey(), value));
+                    return IteratorUtils.filter(candidates,
+                            edge -> seen.add(edge.id()) && HasContainer.testAll(edge, hasContainers));
+                }
+            }
+            // find an edge by label and a range of values, using a global index if there is one
+            HasContainer rangeContainer = null;
+            for (final HasContainer hasContainer : hasContainers) {
+                if (Graph.Hidden.isHidden(hasContainer.getKey())) continue;
+                Pair<Object, Object> range = HasContainerUtils.getRange(hasContainer.getKey(), hasContainers);
+                if (range.getValue0() != null && range.getValue1() != null) {
+                    if (hasGlobalEdgeIndex(graph, label.get(), hasContainer.getKey())) {
+                        return IteratorUtils.filter(graph.allEdges(label.get(), hasContainer.getKey(),
+                                range.getValue0(), range.getValue1()), edge -> HasContainer.testAll(edge, hasContainers));
+                    }
+                    if (rangeContainer == null
+                            && hasSchemaType(graph, ElementType.EDGE, label.get(), hasContainer.getKey(), range.getValue0())
+                            && hasSchemaType(graph, ElementType.EDGE, label.get(), hasContainer.getKey(), range.getValue1())) {
+                        rangeContainer = hasContainer;
+                    }
+                }
+            }
+            // otherwise push the label and key/value down into a filtered scan, if the values have the stored type
+            if (eqContainer != null) {
+                return IteratorUtils.filter(graph.allEdges(label.get(), eqContainer.getKey(), eqContainer.getValue()),
+                        edge -> HasContainer.testAll(edge, hasContainers));
+            }
+            if (rangeContainer != null) {
+                Pair<Object, Object> range = HasContainerUtils.getRange(rangeContainer.getKey(), hasContainers);
+                return IteratorUtils.filter(graph.allEdges(label.get(), rangeContainer.getKey(),
+                        range.getValue0(), range.getValue1()), edge -> HasContainer.testAll(edge, hasContainers));
+            }
+            // find an edge by label
+            return IteratorUtils.filter(graph.allEdges(label.get()), edge -> HasContainer.testAll(edge, hasContainers));
+        } else {
+            // find an edge by key/value, using global indices if they cover the key or a filtered scan otherwise
+            for (final HasContainer hasContainer : hasContainers) {
+                if (Compare.eq == hasContainer.getBiPredicate() && hasContainer.getValue() != null
+                        && !Graph.Hidden.isHidden(hasContainer.getKey())
+                        && hasSchemaType(graph, ElementType.EDGE, null, hasContainer.getKey(), hasContainer.getValue())) {
+                    return IteratorUtils.filter(graph.allEdges(hasContainer.getKey(), hasContainer.getValue()),
+                            edge -> HasContainer.testAll(edge, hasContainers));
+                }
+            }
+            // linear scan
+            return IteratorUtils.filter(graph.edges(), edge -> HasContainer.testAll(edge, hasContainers));
+        }
+    }
+
     private Iterator<Vertex> lookupVertices(final HBaseGraph graph, final List<HasContainer> hasContainers, final Object... ids) {
         // ids are present, filter on them first
         if (ids.length > 0)
             return IteratorUtils.filter(graph.vertices(ids), vertex -> HasContainer.testAll(vertex, hasContainers));
         ////// do index lookups //////
         // get a label being search on
-        Optional<String> label = hasContainers.stream()
-                .filter(hasContainer -> hasContainer.getKey().equals(T.label.getAccessor()))
-                .filter(hasContainer -> Compare.eq == hasContainer.getBiPredicate())
-                .map(hasContainer -> (String) hasContainer.getValue())
-                .findAny();
+        Optional<String> label = getLabel(hasContainers);
         if (label.isPresent()) {
+            // find a vertex by label and the leading keys of a composite index
+            Iterator<Vertex> vertices = lookupCompositeVertices(graph, label.get(), hasContainers);
+            if (vertices != null) {
+                return IteratorUtils.filter(vertices, vertex -> HasContainer.testAll(vertex, hasContainers));
+            }
             // find a vertex by label and key/value
             for (final HasContainer hasContainer : hasContainers) {
                 if (Compare.eq == hasContainer.getBiPredicate() && !hasContainer.getKey().equals(T.label.getAccessor())) {
@@ -57,6 +143,31 @@ public final class HBaseGraphStep<S, E extends Element> extends GraphStep<S, E>
                     }
                 }
             }
+            // find a vertex by label and one of several values, if the values have the stored type
+            for (final HasContainer hasContainer : hasContainers) {
+                if (Contains.within == hasContainer.getBiPredicate() && hasContainer.getValue() instanceof Collection
+                        && graph.hasIndex(OperationType.READ, ElementType.VERTEX, label.get(), hasContainer.getKey())
+                        && ((Collection<?>) hasContainer.getValue()).stream().allMatch(value ->
+                                hasSchemaType(graph, ElementType.VERTEX, label.get(), hasContainer.getKey(), value))) {
+                    Set<Object> seen = new HashSet<>();
+                    Iterator<Vertex> candidates = IteratorUtils.flatMap(((Collection<?>) hasContainer.getValue()).iterator(),
+                            value -> graph.allVertices(label.get(), hasContainer.getKey(), value));
+                    return IteratorUtils.filter(candidates,
+                            vertex -> seen.add(vertex.id()) && HasContainer.testAll(vertex, hasContainers));
+                }
+            }
+            // find a vertex by label and a range of values, if the bounds have the stored type
+            for (final HasContainer hasContainer : hasContainers) {
+                if (hasContainer.getKey().equals(T.label.getAccessor())) continue;
+                Pair<Object, Object> range = HasContainerUtils.getRange(hasContainer.getKey(), hasContainers);
+                if ((range.getValue0() != null || range.getValue1() != null)
+                        && hasSchemaTypes(graph, label.get(), hasContainer.getKey(), range)
+                        && graph.hasIndex(OperationType.READ, ElementType.VERTEX, label.get(), hasContainer.getKey())) {
+                    return IteratorUtils.filter(graph.allVertices(label.get(), Collections.singletonList(hasContainer.getKey()),
+                            Collections.emptyList(), range.getValue0(), range.getValue1()),
+                            vertex -> HasContainer.testAll(vertex, hasContainers));
+                }
+            }
             // find a vertex by label
             return IteratorUtils.stream(graph.allVertices(label.get()))
                     .filter(vertex -> HasContainer.testAll(vertex, hasContainers)).iterator();
@@ -66,6 +177,76 @@ public final class HBaseGraphStep<S, E extends Element> extends GraphStep<S, E>
         }
     }
 
+    private Iterator<Vertex> lookupCompositeVertices(final HBaseGraph graph, final String label, final List<HasContainer> hasContainers) {
+        Map<String, Object> eqValues = new HashMap<>();
+        for (final HasContainer hasContainer : hasContainers) {
+            if (Compare.eq == hasContainer.getBiPredicate() && !hasContainer.getKey().equals(T.label.getAccessor())) {
+                eqValues.putIfAbsent(hasContainer.getKey(), hasContainer.getValue());
+            }
+        }
+        // pick the composite index that covers the most keys, with a range allowed on the last one
+        IndexMetadata bestIndex = null;
+        List<Object> bestValues = null;
+        Object bestFrom = null;
+        Object bestTo = null;
+        int bestCoverage = 1;
+        Iterator<IndexMetadata> indices = graph.getIndices(OperationType.READ, ElementType.VERTEX);
+        while (indices.hasNext()) {
+            IndexMetadata index = indices.next();
+            if (!index.isComposite() || !index.label().equals(label)) continue;
+            List<String> keys = index.propertyKeys();
+            // only the values that have the stored type can be compared in the index
+            List<Object> values = new ArrayList<>();
+            while (values.size() < keys.size()) {
+                String key = keys.get(values.size());
+                if (!eqValues.containsKey(key)
+                        || !hasSchemaType(graph, ElementType.VERTEX, label, key, eqValues.get(key))) break;
+                values.add(eqValues.get(key));
+            }
+            Object from = null;
+            Object to = null;
+            if (values.size() < keys.size()) {
+                Pair<Object, Object> range = HasContainerUtils.getRange(keys.get(values.size()), hasContainers);
+                if (hasSchemaTypes(graph, label, keys.get(values.size()), range)) {
+                    from = range.getValue0();
+                    to = range.getValue1();
+                }
+            }
+            int coverage = values.size() + (from != null || to != null ? 1 : 0);
+            if (coverage > bestCoverage) {
+                bestIndex = index;
+                bestValues = values;
+                bestFrom = from;
+                bestTo = to;
+                bestCoverage = coverage;
+            }
+        }
+        return bestIndex != null
+                ? graph.allVertices(label, bestIndex.propertyKeys(), bestValues, bestFrom, bestTo)
+                : null;
+    }
+
+    private boolean hasGlobalEdgeIndex(final HBaseGraph graph, final String label, final String key) {
+        IndexMetadata index = graph.getIndex(OperationType.READ, ElementType.EDGE, label, key);
+        return index != null && index.isGlobal();
+    }
+
+    /*
+     * Whether the bounds of a vertex range that are present have the stored type.
+     */
+    private boolean hasSchemaTypes(final HBaseGraph graph, final String label, final String key, final Pair<Object, Object> range) {
+        return (range.getValue0() == null || hasSchemaType(graph, ElementType.VERTEX, label, key, range.getValue0()))
+                && (range.getValue1() == null || hasSchemaType(graph, ElementType.VERTEX, label, key, range.getValue1()));
+    }
+
+    private Optional<String> getLabel(final List<HasContainer> hasContainers) {
+        return hasContainers.stream()
+                .filter(hasContainer -> hasContainer.getKey().equals(T.label.getAccessor()))
+                .filter(hasContainer -> Compare.eq == hasContainer.getBiPredicate())
+                .map(hasContainer -> (String) hasContainer.getValue())
+                .findAny();
+    }
+
     @Override
     public String toString() {
         if (this.hasContainers.isEmpty())
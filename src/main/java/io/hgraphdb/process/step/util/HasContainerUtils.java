@@ -0,0 +1,76 @@
+package io.hgraphdb.process.step.util;
+
+import io.hgraphdb.ElementType;
+import io.hgraphdb.HBaseGraph;
+import io.hgraphdb.LabelMetadata;
+import io.hgraphdb.ValueType;
+import io.hgraphdb.ValueUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.javatuples.Pair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+public final class HasContainerUtils {
+
+    private HasContainerUtils() {
+    }
+
+    /*
+     * Returns an inclusive lower bound and an exclusive upper bound for the given key,
+     * either of which may be null.  The bounds may be looser than the predicates, which are
+     * still tested on each element; in particular lte only narrows the scan from below.
+     */
+    public static Pair<Object, Object> getRange(final String key, final List<HasContainer> hasContainers) {
+        Object from = null;
+        Object to = null;
+        for (final HasContainer hasContainer : hasContainers) {
+            if (!hasContainer.getKey().equals(key)) continue;
+            for (final P<?> predicate : flatten(hasContainer.getPredicate())) {
+                if (Compare.gt == predicate.getBiPredicate() || Compare.gte == predicate.getBiPredicate()) {
+                    from = predicate.getValue();
+                } else if (Compare.lt == predicate.getBiPredicate()) {
+                    to = predicate.getValue();
+                }
+            }
+        }
+        return new Pair<>(from, to);
+    }
+
+    /*
+     * Filtered scans and index scans compare serialized values, which only match when the value has
+     * the type the property is stored with, so they are only used when the schema says that it does.
+     * Without a label, every label having the key must agree.
+     */
+    public static boolean hasSchemaType(final HBaseGraph graph, final ElementType type, final String label,
+                                        final String key, final Object value) {
+        if (value == null || !graph.configuration().getUseSchema()) return false;
+        ValueType valueType = ValueUtils.getValueType(value);
+        boolean found = false;
+        for (Iterator<LabelMetadata> it = graph.getLabels(type); it.hasNext(); ) {
+            LabelMetadata labelMetadata = it.next();
+            if (label != null && !label.equals(labelMetadata.label())) continue;
+            ValueType propertyType = labelMetadata.propertyTypes().get(key);
+            if (propertyType == null) continue;
+            if (propertyType != valueType) return false;
+            found = true;
+        }
+        return found;
+    }
+
+    private static List<P<?>> flatten(final P<?> predicate) {
+        if (predicate instanceof AndP) {
+            List<P<?>> predicates = new ArrayList<>();
+            for (final P<?> p : ((AndP<?>) predicate).getPredicates()) {
+                predicates.addAll(flatten(p));
+            }
+            return predicates;
+        }
+        return Collections.singletonList(predicate);
+    }
+}
@@ -0,0 +1,74 @@
+package io.hgraphdb.process.strategy.optimization;
+
+import io.hgraphdb.process.step.map.HBaseVertexCountStep;
+import io.hgraphdb.process.step.map.HBaseVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Collections;
+import java.util.Set;
+
+/*
+ * Pushes limit() and count() following a vertex step that returns edges into the scan of
+ * the edge index.  Steps returning vertices are left alone, since an edge whose adjacent
+ * vertex no longer exists does not contribute a vertex.
+ */
+public final class HBaseLimitCountStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final HBaseLimitCountStrategy INSTANCE = new HBaseLimitCountStrategy();
+
+    private static final Set<Class<? extends ProviderOptimizationStrategy>> PRIORS =
+            Collections.singleton(HBaseVertexStepStrategy.class);
+
+    private HBaseLimitCountStrategy() {
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        for (final VertexStep<?> vertexStep : TraversalHelper.getStepsOfClass(VertexStep.class, traversal)) {
+            if (!vertexStep.getLabels().isEmpty() || !vertexStep.returnsEdge()) continue;
+            Step<?, ?> nextStep = vertexStep.getNextStep();
+            while (nextStep instanceof NoOpBarrierStep) {
+                nextStep = nextStep.getNextStep();
+            }
+            if (nextStep instanceof CountGlobalStep) {
+                HBaseVertexCountStep countStep = new HBaseVertexCountStep(toHBaseVertexStep(vertexStep));
+                TraversalHelper.replaceStep((Step) vertexStep, countStep, traversal);
+            } else if (nextStep instanceof RangeGlobalStep) {
+                long high = ((RangeGlobalStep<?>) nextStep).getHighRange();
+                if (high < 0 || high > Integer.MAX_VALUE) continue;
+                HBaseVertexStep<?> hbaseVertexStep = toHBaseVertexStep(vertexStep);
+                if (!hbaseVertexStep.getHasContainers().isEmpty()) continue;
+                // every vertex contributes at most high elements to the range, so the range step is kept
+                hbaseVertexStep.setLimit((int) high);
+                if (hbaseVertexStep != vertexStep) {
+                    TraversalHelper.replaceStep((Step) vertexStep, hbaseVertexStep, traversal);
+                }
+            }
+        }
+    }
+
+    private HBaseVertexStep<?> toHBaseVertexStep(final VertexStep<?> vertexStep) {
+        return vertexStep instanceof HBaseVertexStep
+                ? (HBaseVertexStep<?>) vertexStep
+                : new HBaseVertexStep<>(vertexStep, vertexStep.getReturnClass());
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static HBaseLimitCountStrategy instance() {
+        return INSTANCE;
+    }
+
+}
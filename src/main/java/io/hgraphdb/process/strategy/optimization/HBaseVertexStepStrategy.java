@@ -0,0 +1,83 @@
+package io.hgraphdb.process.strategy.optimization;
+
+import io.hgraphdb.process.step.map.HBaseVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Set;
+
+/*
+ * Folds the has() steps following outE(label), inE(label) or bothE(label) into an HBaseVertexStep,
+ * so that they can be answered by an edge index.  A following inV() or outV() is folded in as well
+ * when the edges themselves are not needed for a path.
+ */
+public final class HBaseVertexStepStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final HBaseVertexStepStrategy INSTANCE = new HBaseVertexStepStrategy();
+
+    private HBaseVertexStepStrategy() {
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        for (final VertexStep originalVertexStep : TraversalHelper.getStepsOfClass(VertexStep.class, traversal)) {
+            if (originalVertexStep instanceof HBaseVertexStep || !originalVertexStep.returnsEdge()) continue;
+            final Step<?, ?> nextStep = originalVertexStep.getNextStep();
+            if (!(nextStep instanceof HasStep) && !(nextStep instanceof NoOpBarrierStep)) continue;
+
+            HBaseVertexStep<?> hbaseVertexStep = new HBaseVertexStep<>(originalVertexStep, Edge.class);
+            TraversalHelper.replaceStep(originalVertexStep, hbaseVertexStep, traversal);
+            Step<?, ?> currentStep = hbaseVertexStep.getNextStep();
+            while (currentStep instanceof HasStep || currentStep instanceof NoOpBarrierStep) {
+                if (currentStep instanceof HasStep) {
+                    for (final HasContainer hasContainer : ((HasContainerHolder) currentStep).getHasContainers()) {
+                        hbaseVertexStep.addHasContainer(hasContainer);
+                    }
+                    TraversalHelper.copyLabels(currentStep, currentStep.getPreviousStep(), false);
+                    traversal.removeStep(currentStep);
+                }
+                currentStep = currentStep.getNextStep();
+            }
+
+            if (currentStep instanceof EdgeVertexStep && canFoldAdjacentVertex(hbaseVertexStep, (EdgeVertexStep) currentStep)) {
+                HBaseVertexStep<Vertex> adjacentVertexStep =
+                        new HBaseVertexStep<>((VertexStep<Edge>) hbaseVertexStep, Vertex.class);
+                hbaseVertexStep.getHasContainers().forEach(adjacentVertexStep::addHasContainer);
+                TraversalHelper.replaceStep(hbaseVertexStep, (Step) adjacentVertexStep, traversal);
+                TraversalHelper.copyLabels(currentStep, adjacentVertexStep, false);
+                traversal.removeStep(currentStep);
+            }
+        }
+    }
+
+    private boolean canFoldAdjacentVertex(final HBaseVertexStep<?> vertexStep, final EdgeVertexStep edgeVertexStep) {
+        if (vertexStep.getDirection() == Direction.BOTH
+                || edgeVertexStep.getDirection() != vertexStep.getDirection().opposite()
+                || !vertexStep.getLabels().isEmpty()) {
+            return false;
+        }
+        return !TraversalHelper.anyStepRecursively(step -> {
+            Set<TraverserRequirement> requirements = step.getRequirements();
+            return requirements.contains(TraverserRequirement.PATH) || requirements.contains(TraverserRequirement.LABELED_PATH);
+        }, TraversalHelper.getRootTraversal(vertexStep.getTraversal()));
+    }
+
+    public static HBaseVertexStepStrategy instance() {
+        return INSTANCE;
+    }
+
+}
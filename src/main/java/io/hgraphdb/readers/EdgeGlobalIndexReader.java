@@ -0,0 +1,24 @@
+package io.hgraphdb.readers;
+
+import io.hgraphdb.HBaseGraph;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+public class EdgeGlobalIndexReader implements Reader<Edge> {
+
+    private final HBaseGraph graph;
+
+    public EdgeGlobalIndexReader(HBaseGraph graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public Edge parse(Result result) {
+        return makeEdge(result);
+    }
+
+    private Edge makeEdge(Result result) {
+        if (result.isEmpty()) return null;
+        return graph.getEdgeGlobalIndexModel().deserialize(result);
+    }
+}
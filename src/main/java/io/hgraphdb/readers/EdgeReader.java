@@ -4,16 +4,12 @@ import io.hgraphdb.Constants;
 import io.hgraphdb.HBaseEdge;
 import io.hgraphdb.HBaseGraph;
 import io.hgraphdb.HBaseGraphNotFoundException;
+import io.hgraphdb.LazyProperties;
 import io.hgraphdb.ValueUtils;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Result;
-import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Graph;
-
-import java.util.HashMap;
-import java.util.Map;
 
 public class EdgeReader extends ElementReader<Edge> {
 
@@ -39,22 +35,20 @@ public class EdgeReader extends ElementReader<Edge> {
         String label = null;
         Long createdAt = null;
         Long updatedAt = null;
-        Map<String, Object> props = new HashMap<>();
-        for (Cell cell : result.listCells()) {
-            String key = Bytes.toString(CellUtil.cloneQualifier(cell));
-            if (!Graph.Hidden.isHidden(key)) {
-                Object value = ValueUtils.deserialize(CellUtil.cloneValue(cell));
-                props.put(key, value);
-            } else if (key.equals(Constants.TO)) {
-                inVertexId = ValueUtils.deserialize(CellUtil.cloneValue(cell));
-            } else if (key.equals(Constants.FROM)) {
-                outVertexId = ValueUtils.deserialize(CellUtil.cloneValue(cell));
-            } else if (key.equals(Constants.LABEL)) {
-                label = ValueUtils.deserialize(CellUtil.cloneValue(cell));
-            } else if (key.equals(Constants.CREATED_AT)) {
-                createdAt = ValueUtils.deserialize(CellUtil.cloneValue(cell));
-            } else if (key.equals(Constants.UPDATED_AT)) {
-                updatedAt = ValueUtils.deserialize(CellUtil.cloneValue(cell));
+        LazyProperties props = new LazyProperties();
+        for (Cell cell : result.rawCells()) {
+            if (!isHidden(cell)) {
+                props.putEncoded(propertyKey(cell), CellUtil.cloneValue(cell));
+            } else if (CellUtil.matchingQualifier(cell, Constants.TO_BYTES)) {
+                inVertexId = ValueUtils.deserializeValue(cell);
+            } else if (CellUtil.matchingQualifier(cell, Constants.FROM_BYTES)) {
+                outVertexId = ValueUtils.deserializeValue(cell);
+            } else if (CellUtil.matchingQualifier(cell, Constants.LABEL_BYTES)) {
+                label = ValueUtils.deserializeValue(cell);
+            } else if (CellUtil.matchingQualifier(cell, Constants.CREATED_AT_BYTES)) {
+                createdAt = ValueUtils.deserializeValue(cell);
+            } else if (CellUtil.matchingQualifier(cell, Constants.UPDATED_AT_BYTES)) {
+                updatedAt = ValueUtils.deserializeValue(cell);
             }
         }
         if (inVertexId != null && outVertexId != null && label != null) {
@@ -1,11 +1,20 @@
 package io.hgraphdb.readers;
 
 import io.hgraphdb.HBaseGraph;
+import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.tinkerpop.gremlin.structure.Element;
 
 public abstract class ElementReader<T extends Element> implements Reader<T> {
 
+    /* Hidden keys such as ~l and ~c start with this byte, see Graph.Hidden */
+    private static final byte HIDDEN_PREFIX = '~';
+
+    /* Property keys by hash of their encoded bytes, so that a key is usually decoded once per process */
+    private static final int KEY_CACHE_SIZE = 1024;
+    private static final PropertyKey[] PROPERTY_KEYS = new PropertyKey[KEY_CACHE_SIZE];
+
     protected final HBaseGraph graph;
 
     public ElementReader(HBaseGraph graph) {
@@ -13,4 +22,39 @@ public abstract class ElementReader<T extends Element> implements Reader<T> {
     }
 
     public abstract void load(T element, Result result);
+
+    protected static boolean isHidden(Cell cell) {
+        return cell.getQualifierLength() > 0 && cell.getQualifierArray()[cell.getQualifierOffset()] == HIDDEN_PREFIX;
+    }
+
+    /*
+     * Returns the property key of the cell, reusing the String of an earlier cell with the same qualifier.
+     */
+    protected String propertyKey(Cell cell) {
+        byte[] bytes = cell.getQualifierArray();
+        int offset = cell.getQualifierOffset();
+        int length = cell.getQualifierLength();
+        if (graph.getPropertyKeyModel().isEnabled()) {
+            return graph.getPropertyKeyModel().key(bytes, offset, length);
+        }
+        int hash = Bytes.hashCode(bytes, offset, length);
+        int slot = (hash & 0x7fffffff) % KEY_CACHE_SIZE;
+        PropertyKey cached = PROPERTY_KEYS[slot];
+        if (cached != null && Bytes.equals(cached.bytes, 0, cached.bytes.length, bytes, offset, length)) {
+            return cached.key;
+        }
+        String key = Bytes.toString(bytes, offset, length);
+        PROPERTY_KEYS[slot] = new PropertyKey(Bytes.copy(bytes, offset, length), key);
+        return key;
+    }
+
+    private static final class PropertyKey {
+        final byte[] bytes;
+        final String key;
+
+        PropertyKey(byte[] bytes, String key) {
+            this.bytes = bytes;
+            this.key = key;
+        }
+    }
 }
@@ -4,17 +4,13 @@ import io.hgraphdb.Constants;
 import io.hgraphdb.HBaseGraph;
 import io.hgraphdb.HBaseGraphNotFoundException;
 import io.hgraphdb.HBaseVertex;
+import io.hgraphdb.LazyProperties;
 import io.hgraphdb.ValueUtils;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Result;
-import org.apache.hadoop.hbase.util.Bytes;
-import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public class VertexReader extends ElementReader<Vertex> {
 
     public VertexReader(HBaseGraph graph) {
@@ -37,18 +33,16 @@ public class VertexReader extends ElementReader<Vertex> {
         String label = null;
         Long createdAt = null;
         Long updatedAt = null;
-        Map<String, Object> props = new HashMap<>();
-        for (Cell cell : result.listCells()) {
-            String key = Bytes.toString(CellUtil.cloneQualifier(cell));
-            if (!Graph.Hidden.isHidden(key)) {
-                Object value = ValueUtils.deserialize(CellUtil.cloneValue(cell));
-                props.put(key, value);
-            } else if (key.equals(Constants.LABEL)) {
-                label = ValueUtils.deserialize(CellUtil.cloneValue(cell));
-            } else if (key.equals(Constants.CREATED_AT)) {
-                createdAt = ValueUtils.deserialize(CellUtil.cloneValue(cell));
-            } else if (key.equals(Constants.UPDATED_AT)) {
-                updatedAt = ValueUtils.deserialize(CellUtil.cloneValue(cell));
+        LazyProperties props = new LazyProperties();
+        for (Cell cell : result.rawCells()) {
+            if (!isHidden(cell)) {
+                props.putEncoded(propertyKey(cell), CellUtil.cloneValue(cell));
+            } else if (CellUtil.matchingQualifier(cell, Constants.LABEL_BYTES)) {
+                label = ValueUtils.deserializeValue(cell);
+            } else if (CellUtil.matchingQualifier(cell, Constants.CREATED_AT_BYTES)) {
+                createdAt = ValueUtils.deserializeValue(cell);
+            } else if (CellUtil.matchingQualifier(cell, Constants.UPDATED_AT_BYTES)) {
+                updatedAt = ValueUtils.deserializeValue(cell);
             }
         }
         HBaseVertex newVertex = new HBaseVertex(graph, vertex.id(), label, createdAt, updatedAt, props);
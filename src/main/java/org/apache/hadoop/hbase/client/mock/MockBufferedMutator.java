@@ -65,7 +65,7 @@ public class MockBufferedMutator implements BufferedMutator {
      *
      * @param mutation The data to send.
      */
-    public void mutate(Mutation mutation) {
+    public synchronized void mutate(Mutation mutation) {
         mutations.add(mutation);
     }
 
@@ -77,7 +77,7 @@ public class MockBufferedMutator implements BufferedMutator {
      * @param ms The data to send.
      * @throws IOException if a remote or network exception occurs.
      */
-    public void mutate(List<? extends Mutation> ms) throws IOException {
+    public synchronized void mutate(List<? extends Mutation> ms) throws IOException {
         mutations.addAll(ms);
     }
 
@@ -97,7 +97,7 @@ public class MockBufferedMutator implements BufferedMutator {
      *
      * @throws IOException if a remote or network exception occurs.
      */
-    public void flush() throws IOException {
+    public synchronized void flush() throws IOException {
         try {
             Object[] results = new Object[mutations.size()];
             conn.getTable(name).batch(mutations, results);
@@ -44,6 +44,15 @@ public class MockConnection implements Connection {
         return config;
     }
 
+    /**
+     * Returns whether a table has been accessed through this connection, which creates it.
+     * @param tableName the name of the table
+     * @return true if the table exists
+     */
+    public boolean hasTable(TableName tableName) {
+        return tables.containsKey(tableName);
+    }
+
     /**
      * Retrieve a Table implementation for accessing a table.
      * The returned Table is not thread safe, a new instance should be created for each using thread.
@@ -383,10 +383,6 @@ public class MockHTable implements HTableInterface {
                 if (maxResults >= 0 && kvs.size() > maxResults) {
                     kvs = kvs.subList(0, maxResults);
                 }
-                // Check for early out optimization
-                if (filter != null && filter.filterAllRemaining()) {
-                    break;
-                }
             } else {
                 kvs = new ArrayList<KeyValue>();
                 for (byte[] family : scan.getFamilyMap().keySet()) {
@@ -519,7 +515,7 @@ public class MockHTable implements HTableInterface {
                 nkvs.add((KeyValue) cell);
             }
         }
-        if (filter.filterRow() || filteredOnRowKey) {
+        if (filteredOnRowKey || filter.filterRow()) {
             nkvs.clear();
         }
         tmp = nkvs;
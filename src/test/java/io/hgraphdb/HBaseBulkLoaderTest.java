@@ -1,17 +1,41 @@
 package io.hgraphdb;
 
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.io.hfile.CacheConfig;
+import org.apache.hadoop.hbase.io.hfile.HFile;
+import org.apache.hadoop.hbase.io.hfile.HFileScanner;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
 
 import static org.junit.Assert.*;
 
 public class HBaseBulkLoaderTest extends HBaseGraphTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testBulkLoader() throws Exception {
         HBaseBulkLoader loader = new HBaseBulkLoader(graph);
@@ -37,4 +61,165 @@ public class HBaseBulkLoaderTest extends HBaseGraphTest {
         assertEquals("2", v2.property("P2").value());
     }
 
+    @Test
+    public void testParallelBulkLoader() throws Exception {
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph")
+                .setBulkLoaderThreads(4)
+                .setBulkLoaderQueueSize(5), graph.connection());
+        try {
+            HBaseBulkLoader loader = new HBaseBulkLoader(graph2);
+
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < 2; p++) {
+                final int producer = p;
+                producers.add(new Thread(() -> {
+                    Vertex prev = null;
+                    for (int i = 0; i < 50; i++) {
+                        Vertex v = loader.addVertex(T.id, "V" + producer + "-" + i, "P1", i);
+                        if (prev != null) {
+                            loader.addEdge(prev, v, "next", "P2", i);
+                        }
+                        prev = v;
+                    }
+                }));
+            }
+            producers.forEach(Thread::start);
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            loader.close();
+
+            assertEquals(100, loader.getVertexCount());
+            assertEquals(98, loader.getEdgeCount());
+            assertEquals(0, loader.getFailedCount());
+        } finally {
+            graph2.close();
+        }
+
+        assertEquals(100, count(graph.vertices()));
+        assertEquals(98, count(graph.edges()));
+        Vertex v = graph.vertex("V1-10");
+        assertEquals(10, v.<Integer>value("P1").intValue());
+        Edge e = v.edges(Direction.OUT, "next").next();
+        assertEquals("V1-11", e.inVertex().id());
+        assertEquals(11, e.<Integer>value("P2").intValue());
+    }
+
+    @Test
+    public void testBulkLoaderHFiles() throws Exception {
+        File dir = folder.newFolder("hfiles");
+        HBaseGraphConfiguration config = generateGraphConfig("hfilegraph")
+                .setRegionCount(4)
+                .setBulkLoaderHFileDir(dir.getPath())
+                .setBulkLoaderHFileBufferSize(4096);
+        HBaseGraph graph2 = new HBaseGraph(config);
+        try {
+            HBaseBulkLoader loader = new HBaseBulkLoader(graph2);
+            Vertex prev = null;
+            for (int i = 0; i < 100; i++) {
+                Vertex v = loader.addVertex(T.id, id(i), "P1", i);
+                if (prev != null) {
+                    loader.addEdge(prev, v, "next", "P2", i);
+                }
+                prev = v;
+            }
+            loader.close();
+
+            // Nothing is sent to the tables
+            assertEquals(0, count(graph2.vertices()));
+
+            org.apache.hadoop.conf.Configuration conf = config.toHBaseConfiguration();
+            FileSystem fs = FileSystem.getLocal(conf);
+            byte[][] splitKeys = HBaseGraphUtils.getSplitKeys(4);
+            for (String name : new String[]{Constants.VERTICES, Constants.EDGES}) {
+                Path familyDir = new Path(HFileMutator.getTableDir(new Path(dir.getPath()),
+                        HBaseGraphUtils.getTableName(config, name)), Constants.DEFAULT_FAMILY);
+                FileStatus[] files = fs.listStatus(familyDir);
+                // The buffer is flushed more than once, with up to one file per region each time
+                assertTrue(files.length > 4);
+                Set<String> rows = new HashSet<>();
+                for (FileStatus file : files) {
+                    HFile.Reader reader = HFile.createReader(fs, file.getPath(), new CacheConfig(conf), conf);
+                    try {
+                        reader.loadFileInfo();
+                        HFileScanner scanner = reader.getScanner(false, false);
+                        assertTrue(scanner.seekTo());
+                        byte[] previous = null;
+                        int region = -1;
+                        do {
+                            byte[] row = CellUtil.cloneRow(scanner.getKeyValue());
+                            if (previous != null) {
+                                assertTrue(Bytes.compareTo(previous, row) <= 0);
+                            } else {
+                                region = region(splitKeys, row);
+                            }
+                            // Each file holds the rows of one region only
+                            assertEquals(region, region(splitKeys, row));
+                            rows.add(Bytes.toStringBinary(row));
+                            previous = row;
+                        } while (scanner.next());
+                    } finally {
+                        reader.close();
+                    }
+                }
+                assertEquals(name.equals(Constants.VERTICES) ? 100 : 99, rows.size());
+            }
+
+            try {
+                HBaseBulkLoader.loadHFiles(graph2);
+                fail("HFiles should not be loaded into a mock instance");
+            } catch (HBaseGraphException e) {
+                // ok
+            }
+        } finally {
+            graph2.close(true);
+        }
+    }
+
+    private static int region(byte[][] splitKeys, byte[] row) {
+        int region = 0;
+        while (region < splitKeys.length && Bytes.compareTo(row, splitKeys[region]) >= 0) {
+            region++;
+        }
+        return region;
+    }
+
+    @Test
+    public void testBulkImporter() throws Exception {
+        Vertex a = graph.addVertex(T.id, "A", T.label, "person", "P1", 1);
+        Vertex b = graph.addVertex(T.id, "B", T.label, "person", "P1", 2);
+        a.addEdge("knows", b, T.id, "E1", "P2", "V2");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphSONWriter.build().create().writeVertices(out, graph.vertices(), Direction.BOTH);
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("importgraph"));
+        try {
+            HBaseBulkLoader loader = new HBaseBulkLoader(graph2);
+            HBaseBulkImporter importer = new HBaseBulkImporter(graph2, loader);
+            importer.importGraphSON(new ByteArrayInputStream(out.toByteArray()));
+            importer.importVertices(new StringReader("~id,P1,P3\nC,3,\"x, \"\"y\"\"\"\nD,4,\n"), "person");
+            importer.importEdges(new StringReader("~outV,~inV,~label,P2\nC,D,likes,V4\n"), "knows");
+            loader.close();
+            assertEquals(6, importer.getElementCount());
+
+            assertEquals(4, count(graph2.vertices()));
+            assertEquals(2, count(graph2.edges()));
+            Vertex v = graph2.vertex("A");
+            assertEquals("person", v.label());
+            assertEquals(1, v.<Integer>value("P1").intValue());
+            Edge e = v.edges(Direction.OUT, "knows").next();
+            assertEquals("E1", e.id());
+            assertEquals("B", e.inVertex().id());
+            assertEquals("V2", e.value("P2"));
+
+            v = graph2.vertex("C");
+            assertEquals("3", v.value("P1"));
+            assertEquals("x, \"y\"", v.value("P3"));
+            assertFalse(graph2.vertex("D").property("P3").isPresent());
+            e = v.edges(Direction.OUT, "likes").next();
+            assertEquals("D", e.inVertex().id());
+        } finally {
+            graph2.close(true);
+        }
+    }
 }
@@ -5,19 +5,33 @@ import com.esotericsoftware.kryo.KryoSerializable;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.google.common.collect.ImmutableMap;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Order;
+import org.apache.hadoop.hbase.util.OrderedBytes;
+import org.apache.hadoop.hbase.util.PositionedByteRange;
+import org.apache.hadoop.hbase.util.SimplePositionedMutableByteRange;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
 import static org.junit.Assert.*;
@@ -89,6 +103,29 @@ public class HBaseElementTest extends HBaseGraphTest {
         assertEquals(0, count(v.properties("foo")));
     }
 
+    @Test
+    public void testLargeValues() {
+        char[] chars = new char[10000];
+        Arrays.fill(chars, 'x');
+        String large = new String(chars);
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        graph.addVertex(T.id, large, T.label, "a", "key1", large);
+
+        byte[] bytes = ValueUtils.serialize(large);
+        byte[] saltedBytes = ValueUtils.serializeWithSalt(large);
+        assertEquals(ValueUtils.getSaltingByte(bytes), saltedBytes[0]);
+        assertArrayEquals(bytes, Arrays.copyOfRange(saltedBytes, 1, saltedBytes.length));
+        assertEquals(large, ValueUtils.deserialize(bytes));
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph"), graph.connection());
+        try {
+            assertEquals(large, graph2.vertex(large).value("key1"));
+            assertEquals(1, count(graph2.allVertices("a", "key1", large)));
+        } finally {
+            graph2.close();
+        }
+    }
+
     @Test
     public void testAllVerticesWithLabel() {
         assertEquals(0, count(graph.vertices()));
@@ -102,6 +139,351 @@ public class HBaseElementTest extends HBaseGraphTest {
         assertEquals(2, count(it));
     }
 
+    @Test
+    public void testElementsByIds() {
+        assertEquals(0, count(graph.vertices()));
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.id, id(i), "key1", i);
+        }
+        graph.vertex(id(0)).addEdge("knows", graph.vertex(id(1)), T.id, id(100));
+        graph.vertex(id(1)).addEdge("knows", graph.vertex(id(2)), T.id, id(101));
+
+        // use a second graph on the same connection so that nothing is cached
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph").setMultiGetBatchSize(3), graph.connection());
+        try {
+            Iterator<Vertex> it = graph2.vertices(id(7), id(20), id(1), id(4), id(9), id(0), id(30));
+            List<Object> ids = new ArrayList<>();
+            it.forEachRemaining(v -> ids.add(v.id()));
+            assertEquals(Arrays.asList(id(7), id(1), id(4), id(9), id(0)), ids);
+            assertEquals(4, graph2.vertex(id(4)).<Integer>value("key1").intValue());
+
+            Iterator<Edge> it2 = graph2.edges(id(101), id(102), id(100));
+            assertEquals(id(101), it2.next().id());
+            Edge e = it2.next();
+            assertEquals(id(100), e.id());
+            assertEquals(id(1), e.inVertex().id());
+            assertFalse(it2.hasNext());
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testAdjacentVertices() {
+        assertEquals(0, count(graph.vertices()));
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        for (int i = 1; i <= 5; i++) {
+            v0.addEdge("knows", graph.addVertex(T.id, id(i), "key1", i), T.id, id(100 + i));
+        }
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph").setMultiGetBatchSize(2), graph.connection());
+        try {
+            Iterator<Vertex> it = graph2.vertex(id(0)).vertices(Direction.OUT, "knows");
+            int sum = 0;
+            while (it.hasNext()) {
+                sum += it.next().<Integer>value("key1");
+            }
+            assertEquals(15, sum);
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testIncidentEdges() {
+        assertEquals(0, count(graph.vertices()));
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        for (int i = 1; i <= 7; i++) {
+            v0.addEdge("knows", graph.addVertex(T.id, id(i)), T.id, id(100 + i), "key1", i % 2);
+        }
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph").setMultiGetBatchSize(3), graph.connection());
+        try {
+            HBaseVertex v = (HBaseVertex) graph2.vertex(id(0));
+            Iterator<Edge> it = v.edges(Direction.OUT, "knows");
+            int sum = 0;
+            while (it.hasNext()) {
+                sum += it.next().<Integer>value("key1");
+            }
+            assertEquals(4, sum);
+            assertEquals(3, count(v.edges(Direction.OUT, "knows", "key1", 0)));
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testAsyncWrites() {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        graph.createIndex(ElementType.VERTEX, "a", "key2", true);
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph")
+                .setAsyncWrites(true)
+                .setAsyncFlushIntervalMs(3600000), graph.connection());
+        try {
+            graph2.addVertex(T.id, id(1), T.label, "a", "key1", 1, "key2", 2);
+            Vertex v0 = graph2.addVertex(T.id, id(0), T.label, "a", "key1", 1);
+            v0.property("key3", 3);
+
+            // unique indices are still written synchronously
+            assertEquals(1, count(graph.getVertexIndexModel().vertices("a", true, "key2", 2)));
+            assertEquals(0, count(graph.getVertexIndexModel().vertices("a", false, "key1", 1)));
+
+            graph2.flush();
+            assertEquals(2, count(graph.getVertexIndexModel().vertices("a", false, "key1", 1)));
+        } finally {
+            graph2.close();
+        }
+
+        HBaseGraph graph3 = new HBaseGraph(generateGraphConfig("testgraph"), graph.connection());
+        try {
+            assertEquals(3, graph3.vertex(id(0)).<Integer>value("key3").intValue());
+        } finally {
+            graph3.close();
+        }
+    }
+
+    @Test
+    public void testUpsertElements() {
+        graph.createIndex(ElementType.VERTEX, "a", "key2", true);
+        Vertex v0 = graph.upsertVertex(T.id, id(0), T.label, "a", "key1", 1, "key2", 2);
+        Vertex v1 = graph.upsertVertex(T.id, id(1), T.label, "a");
+        graph.upsertEdge(v0, v1, "knows", T.id, id(10), "key1", 1);
+        try {
+            graph.addVertex(T.id, id(0), T.label, "a");
+            fail("should reject existing vertex");
+        } catch (IllegalArgumentException x) { }
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph").setUpsertElements(true), graph.connection());
+        try {
+            graph2.addVertex(T.id, id(2), T.label, "a", "key1", 1);
+            graph2.vertex(id(2)).addEdge("knows", graph2.vertex(id(0)), T.id, id(11));
+            Vertex v = graph2.vertex(id(0));
+            assertEquals(1, v.<Integer>value("key1").intValue());
+            assertEquals(2, v.<Integer>value("key2").intValue());
+            assertEquals(id(0), graph2.getVertexIndexModel().vertices("a", true, "key2", 2).next().id());
+            Edge e = graph2.edge(id(10));
+            assertEquals(1, e.<Integer>value("key1").intValue());
+            assertEquals(1, graph2.vertex(id(2)).<Integer>value("key1").intValue());
+            assertEquals(2, count(graph2.edges()));
+            assertEquals(id(0), graph2.vertex(id(2)).vertices(Direction.OUT, "knows").next().id());
+
+            // unique indices are still checked
+            try {
+                graph2.addVertex(T.id, id(3), T.label, "a", "key2", 2);
+                fail("should reject non-unique key");
+            } catch (HBaseGraphNotUniqueException x) { }
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testUpsertDoesNotReplaceCachedProperties() {
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph").setUpsertElements(true), graph.connection());
+        try {
+            graph2.addVertex(T.id, id(0), T.label, "a", "key1", 1, "key2", 2);
+            // re-upserting an unindexed property must not leave the cache holding only the upserted properties
+            Vertex v = graph2.upsertVertex(T.id, id(0), T.label, "a", "key1", 3);
+            assertEquals(3, v.<Integer>value("key1").intValue());
+            assertEquals(2, v.<Integer>value("key2").intValue());
+            assertEquals(2, graph2.vertex(id(0)).<Integer>value("key2").intValue());
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testAsyncWritesApplyDeletesBeforeChecks() {
+        graph.createIndex(ElementType.VERTEX, "a", "key2", true);
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph")
+                .setAsyncWrites(true)
+                .setAsyncFlushIntervalMs(3600000), graph.connection());
+        try {
+            Vertex v0 = graph2.addVertex(T.id, id(0), T.label, "a");
+            v0.remove();
+            graph2.addVertex(T.id, id(0), T.label, "a");
+
+            Vertex v1 = graph2.addVertex(T.id, id(1), T.label, "a", "key2", 2);
+            v1.property("key2", 3);
+            graph2.addVertex(T.id, id(2), T.label, "a", "key2", 2);
+
+            graph2.flush();
+            assertEquals(id(2), graph.getVertexIndexModel().vertices("a", true, "key2", 2).next().id());
+            assertEquals(id(1), graph.getVertexIndexModel().vertices("a", true, "key2", 3).next().id());
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testEdgeLimitAndCount() {
+        assertEquals(0, count(graph.vertices()));
+        graph.createIndex(ElementType.EDGE, "knows", "key1");
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        for (int i = 1; i <= 10; i++) {
+            v0.addEdge("knows", graph.addVertex(T.id, id(i)), "key1", i % 2);
+        }
+        for (int i = 1; i <= 3; i++) {
+            graph.vertex(id(i)).addEdge("likes", v0);
+        }
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph").setMultiGetBatchSize(4), graph.connection());
+        try {
+            HBaseVertex v = (HBaseVertex) graph2.vertex(id(0));
+            assertEquals(3, count(v.edges(Direction.OUT, 3, "knows")));
+            assertEquals(10, v.edgeCount(Direction.OUT, "knows"));
+            assertEquals(13, v.edgeCount(Direction.BOTH));
+            assertEquals(5, v.edgeCount(Direction.OUT, "knows", "key1", 0));
+
+            GraphTraversalSource g = graph2.traversal();
+            assertEquals(3, count(g.V(id(0)).outE("knows").limit(3)));
+            assertEquals(2, count(g.V(id(0)).out("knows").limit(2)));
+            assertEquals(2, count(g.V(id(0)).both().range(1, 3)));
+            assertEquals(10L, (long) g.V(id(0)).outE("knows").count().next());
+            assertEquals(13L, (long) g.V(id(0)).both().count().next());
+            assertEquals(13L, (long) g.V().outE().count().next());
+            assertEquals(0L, (long) g.V(id(10)).outE().count().next());
+            assertEquals(5L, (long) g.V(id(0)).outE("knows").has("key1", 1).count().next());
+            assertEquals(5L, (long) g.V(id(0)).outE("knows").has("key1", 1).inV().count().next());
+            assertTrue(g.V(id(0)).outE("knows").count().explain().toString().contains("HBaseVertexCountStep"));
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testEdgeLimitAndCountSkipStaleRows() {
+        assertEquals(0, count(graph.vertices()));
+        graph.createIndex(ElementType.EDGE, "knows", "key1");
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        Edge staleEdge = null;
+        for (int i = 1; i <= 5; i++) {
+            Edge e = v0.addEdge("knows", graph.addVertex(T.id, id(i)), "key1", 1);
+            if (i == 1) staleEdge = e;
+        }
+        // leave index rows for an edge that no longer exists, and an edge to a vertex that no longer exists
+        ((HBaseEdge) staleEdge).deleteFromModel();
+        ((HBaseVertex) graph.vertex(id(2))).deleteFromModel();
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph"), graph.connection());
+        try {
+            GraphTraversalSource g = graph2.traversal();
+            assertEquals(4, count(g.V(id(0)).outE("knows").limit(4)));
+            List<Object> ids = g.V(id(0)).out("knows").limit(5).id().toList();
+            assertEquals(3, ids.size());
+            assertFalse(ids.contains(id(1)));
+            assertFalse(ids.contains(id(2)));
+            assertEquals(4L, (long) g.V(id(0)).outE("knows").count().next());
+            assertEquals(4L, (long) g.V(id(0)).outE("knows").has("key1", 1).count().next());
+            assertEquals(3L, (long) g.V(id(0)).out("knows").count().next());
+            assertFalse(g.V(id(0)).out("knows").count().explain().toString().contains("HBaseVertexCountStep"));
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testReadPropertyKeys() {
+        // "Aa" and "BB" have the same hash, so they share a slot in the reader's key cache
+        byte[] aa = Bytes.toBytes("Aa");
+        byte[] bb = Bytes.toBytes("BB");
+        assertEquals(Bytes.hashCode(aa, 0, aa.length), Bytes.hashCode(bb, 0, bb.length));
+
+        Vertex v0 = graph.addVertex(T.id, id(0), T.label, "a", "Aa", 1, "BB", 2);
+        Vertex v1 = graph.addVertex(T.id, id(1), T.label, "b", "BB", 3, "\u540D\u524D", "x", "\u043A\u043B\u044E\u0447", "y", "\uD83D\uDE00", "z");
+        v0.addEdge("knows", v1, T.id, id(10), "Aa", 4, "\u00FC", 5);
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph"), graph.connection());
+        try {
+            Vertex v = graph2.vertex(id(0));
+            assertEquals("a", v.label());
+            assertEquals(new HashSet<>(Arrays.asList("Aa", "BB")), v.keys());
+            assertEquals(1, v.<Integer>value("Aa").intValue());
+            assertEquals(2, v.<Integer>value("BB").intValue());
+
+            v = graph2.vertex(id(1));
+            assertEquals("b", v.label());
+            assertEquals(new HashSet<>(Arrays.asList("BB", "\u540D\u524D", "\u043A\u043B\u044E\u0447", "\uD83D\uDE00")), v.keys());
+            assertEquals(3, v.<Integer>value("BB").intValue());
+            assertEquals("x", v.value("\u540D\u524D"));
+            assertEquals("y", v.value("\u043A\u043B\u044E\u0447"));
+            assertEquals("z", v.value("\uD83D\uDE00"));
+
+            // the label, endpoints and timestamps are hidden columns, not properties
+            Edge e = graph2.edge(id(10));
+            assertEquals("knows", e.label());
+            assertEquals(id(0), e.outVertex().id());
+            assertEquals(id(1), e.inVertex().id());
+            assertEquals(new HashSet<>(Arrays.asList("Aa", "\u00FC")), e.keys());
+            assertEquals(4, e.<Integer>value("Aa").intValue());
+            assertEquals(5, e.<Integer>value("\u00FC").intValue());
+            assertTrue(((HBaseEdge) e).createdAt() > 0);
+            assertTrue(((HBaseEdge) e).updatedAt() > 0);
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testLazyProperties() {
+        graph.addVertex(T.id, id(0), "key1", 1, "key2", new CountedObject());
+        CountedObject.reads.set(0);
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph"), graph.connection());
+        try {
+            Vertex v = graph2.vertex(id(0));
+            assertEquals(1, v.<Integer>value("key1").intValue());
+            assertEquals(new HashSet<>(Arrays.asList("key1", "key2")), v.keys());
+            assertEquals(0, CountedObject.reads.get());
+            assertNotNull(v.value("key2"));
+            assertNotNull(v.value("key2"));
+            assertEquals(1, CountedObject.reads.get());
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testKryoPoolRegistration() {
+        KryoPool pool = new KryoPool(kryo -> kryo.register(KryoObject.class, 100));
+        byte[] unregistered = ValueUtils.serialize(new KryoObject(ValueType.INT));
+        PositionedByteRange buffer = new SimplePositionedMutableByteRange(256);
+        pool.write(buffer, new KryoObject(ValueType.INT), Order.ASCENDING);
+        assertTrue(buffer.getPosition() < unregistered.length);
+
+        buffer.setPosition(0);
+        byte[] blob = OrderedBytes.decodeBlobVar(buffer);
+        assertEquals("KryoObject [id=INT]", pool.read(blob).toString());
+    }
+
+    @Test
+    public void testKryoRegistratorIsInstalledOnce() {
+        KryoRegistrator registrator = kryo -> kryo.register(KryoObject.class, 100);
+        try {
+            ValueUtils.setKryoRegistrator(registrator);
+            ValueUtils.setKryoRegistrator(registrator);
+            try {
+                ValueUtils.setKryoRegistrator(kryo -> kryo.register(KryoObject.class, 101));
+                fail("should reject a second registrator");
+            } catch (HBaseGraphException x) { }
+            byte[] bytes = ValueUtils.serialize(new KryoObject(ValueType.INT));
+            assertEquals("KryoObject [id=INT]", ValueUtils.deserialize(bytes).toString());
+        } finally {
+            ValueUtils.resetKryoRegistrator();
+        }
+    }
+
+    private static class CountedObject implements Serializable {
+        static final AtomicInteger reads = new AtomicInteger();
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            reads.incrementAndGet();
+        }
+    }
+
     private static class KryoObject implements KryoSerializable {
         private ValueType id;
 
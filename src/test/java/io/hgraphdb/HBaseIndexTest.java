@@ -1,14 +1,32 @@
 package io.hgraphdb;
 
+import com.google.common.collect.ImmutableMap;
+import io.hgraphdb.IndexMetadata.State;
+import io.hgraphdb.mutators.IndexProgressWriter;
+import io.hgraphdb.mutators.Mutators;
+import io.hgraphdb.mutators.PropertyWriter;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.*;
+import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
 import org.junit.Test;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 
 import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class HBaseIndexTest extends HBaseGraphTest {
@@ -46,6 +64,78 @@ public class HBaseIndexTest extends HBaseGraphTest {
         assertEquals(2, count(it));
     }
 
+    @Test
+    public void testPropertyKeyDictionary() throws Exception {
+        HBaseGraph dictGraph = (HBaseGraph) GraphFactory.open(generateGraphConfig("testgraph")
+                .setUsePropertyKeyDictionary(true));
+        try {
+            dictGraph.createIndex(ElementType.VERTEX, "a", "key1");
+            dictGraph.createIndex(ElementType.EDGE, "b", "key1");
+            Vertex v0 = dictGraph.addVertex(T.id, id(0), T.label, "a", "key1", 1, "key2", "x");
+            Vertex v1 = dictGraph.addVertex(T.id, id(1), T.label, "a", "key1", 2);
+            v0.addEdge("b", v1, "key1", 3);
+
+            try (ResultScanner scanner = dictGraph.getVertexModel().getTable().getScanner(new Scan())) {
+                for (Result result : scanner) {
+                    for (Cell cell : result.rawCells()) {
+                        assertTrue(cell.getQualifierLength() <= 2);
+                    }
+                }
+            }
+
+            Vertex v = dictGraph.vertex(id(0));
+            assertEquals(new HashSet<>(Arrays.asList("key1", "key2")), v.keys());
+            assertEquals("x", v.value("key2"));
+            assertEquals(1, count(dictGraph.allVertices("a", "key1", 1)));
+            assertEquals(1, count(v.edges(Direction.OUT, "b")));
+            assertEquals(3, v.edges(Direction.OUT, "b").next().<Integer>value("key1").intValue());
+            assertEquals(1, count(dictGraph.allEdges("b", "key1", 3)));
+        } finally {
+            dictGraph.close(true);
+        }
+    }
+
+    @Test
+    public void testPropertyKeyDictionaryMismatch() {
+        try {
+            new HBaseGraph(generateGraphConfig("testgraph").setUsePropertyKeyDictionary(true), graph.connection());
+            fail("should reject the dictionary for a graph created without it");
+        } catch (HBaseGraphException x) { }
+
+        HBaseGraph dictGraph = (HBaseGraph) GraphFactory.open(generateGraphConfig("testgraph")
+                .setUsePropertyKeyDictionary(true));
+        try {
+            try {
+                new HBaseGraph(generateGraphConfig("testgraph"), dictGraph.connection());
+                fail("should require the dictionary for a graph created with it");
+            } catch (HBaseGraphException x) { }
+            // the recorded setting is not mistaken for an index
+            dictGraph.createIndex(ElementType.VERTEX, "a", "key1");
+            assertEquals(1, count(dictGraph.getIndexMetadataModel().indices()));
+        } finally {
+            dictGraph.close(true);
+        }
+    }
+
+    @Test
+    public void testPropertyKeyDictionaryNotRecorded() throws Exception {
+        // a graph whose tables existed before the setting was recorded
+        Table table = graph.connection().getTable(
+                HBaseGraphUtils.getTableName(graph.configuration(), Constants.INDEX_METADATA));
+        table.delete(new Delete(Constants.GRAPH_METADATA_BYTES));
+        assertNull(graph.getIndexMetadataModel().usesPropertyKeyDictionary());
+
+        try {
+            new HBaseGraph(generateGraphConfig("testgraph").setUsePropertyKeyDictionary(true), graph.connection());
+            fail("should reject the dictionary for a graph that existed without a recorded setting");
+        } catch (HBaseGraphException x) { }
+        assertNull(graph.getIndexMetadataModel().usesPropertyKeyDictionary());
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph"), graph.connection());
+        graph2.close();
+        assertNull(graph.getIndexMetadataModel().usesPropertyKeyDictionary());
+    }
+
     @Test
     public void testUniqueVertexIndex() {
         assertEquals(0, count(graph.vertices()));
@@ -66,6 +156,171 @@ public class HBaseIndexTest extends HBaseGraphTest {
         assertEquals(id(10), v.id());
     }
 
+    @Test
+    public void testPopulateVertexIndex() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i % 2);
+        }
+        graph.addVertex(T.id, id(20), T.label, "b", "key1", 0);
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph")
+                .setSchemaStateChangeDelaySecs(0)
+                .setIndexPopulateThreads(3)
+                .setIndexPopulateCheckpointSize(2), graph.connection());
+        try {
+            graph2.createIndex(ElementType.VERTEX, "a", "key1", false, true);
+            awaitIndex(graph2, ElementType.VERTEX, "a", "key1");
+            assertEquals(10, count(graph2.getVertexIndexModel().vertices("a", false, "key1", 0)));
+            assertEquals(10, count(graph2.getVertexIndexModel().vertices("a", false, "key1", 1)));
+            IndexMetadata.Key indexKey = new IndexMetadata.Key(ElementType.VERTEX, "a", "key1");
+            assertEquals(0, graph2.getIndexMetadataModel().indexProgress(indexKey).size());
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testResumePopulateVertexIndex() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", 0);
+        }
+
+        // leave the index building, as if the population had died
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph")
+                .setSchemaStateChangeDelaySecs(3600), graph.connection());
+        HBaseGraph graph3 = new HBaseGraph(generateGraphConfig("testgraph")
+                .setSchemaStateChangeDelaySecs(0), graph.connection());
+        try {
+            graph2.createIndex(ElementType.VERTEX, "a", "key1", false, true);
+            IndexMetadata.Key indexKey = new IndexMetadata.Key(ElementType.VERTEX, "a", "key1");
+            int remainingBucket = bucket(id(0));
+            for (int bucket = 0; bucket < ValueUtils.DEFAULT_NUM_BUCKETS; bucket++) {
+                if (bucket != remainingBucket) {
+                    graph2.getIndexMetadataModel().writeIndexProgress(indexKey, bucket, null);
+                }
+            }
+
+            graph3.resumePopulateIndex(ElementType.VERTEX, "a", "key1");
+            awaitIndex(graph3, ElementType.VERTEX, "a", "key1");
+            int expected = 0;
+            for (int i = 0; i < 20; i++) {
+                if (bucket(id(i)) == remainingBucket) expected++;
+            }
+            Iterator<Vertex> it = graph3.getVertexIndexModel().vertices("a", false, "key1", 0);
+            assertEquals(expected, count(it));
+        } finally {
+            graph2.close();
+            graph3.close();
+        }
+    }
+
+    @Test
+    public void testDropIndex() throws Exception {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        graph.createIndex(ElementType.VERTEX, "a", "key2");
+        graph.createIndex(ElementType.EDGE, "b", "key1");
+        graph.createIndex(ElementType.EDGE, "c", "key1", false, false, true);
+        for (int i = 0; i < 5; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i, "key2", i);
+        }
+        Vertex v0 = graph.vertex(id(0));
+        for (int i = 1; i < 5; i++) {
+            v0.addEdge("b", graph.vertex(id(i)), "key1", i);
+        }
+        v0.addEdge("c", graph.vertex(id(1)), "key1", 1);
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph")
+                .setSchemaStateChangeDelaySecs(0)
+                .setIndexPopulateCheckpointSize(2), graph.connection());
+        try {
+            graph2.dropIndex(ElementType.VERTEX, "a", "key1");
+            graph2.dropIndex(ElementType.EDGE, "b", "key1");
+            graph2.dropIndex(ElementType.EDGE, "c", "key1");
+            assertEquals(false, graph2.hasIndex(OperationType.WRITE, ElementType.VERTEX, "a", "key1"));
+            awaitDropped(graph2, ElementType.VERTEX, "a", "key1");
+            awaitDropped(graph2, ElementType.EDGE, "b", "key1");
+            awaitDropped(graph2, ElementType.EDGE, "c", "key1");
+        } finally {
+            graph2.close();
+        }
+
+        // only the rows of the remaining vertex index, and the created-at rows of the edges, are left
+        assertEquals(5, count(graph.getVertexIndexModel().getTable().getScanner(new Scan())));
+        assertEquals(10, count(graph.getEdgeIndexModel().getTable().getScanner(new Scan())));
+        assertEquals(0, count(graph.getEdgeGlobalIndexModel().getTable().getScanner(new Scan())));
+
+        graph.createIndex(ElementType.VERTEX, "a", "key1", false, false);
+        assertEquals(0, count(graph.allVertices("a", "key1", 1)));
+    }
+
+    @Test
+    public void testDropBuildingIndex() {
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph")
+                .setSchemaStateChangeDelaySecs(3600), graph.connection());
+        try {
+            graph2.createIndex(ElementType.VERTEX, "a", "key1", false, true);
+            IndexMetadata.Key indexKey = new IndexMetadata.Key(ElementType.VERTEX, "a", "key1");
+            graph2.getIndexMetadataModel().writeIndexProgress(indexKey, 0, null);
+            assertEquals(1, graph2.getIndexMetadataModel().indexProgress(indexKey).size());
+            // the progress of populating an index is not mistaken for the progress of purging it
+            assertEquals(0, graph2.getIndexMetadataModel().purgeProgress(indexKey).size());
+            try {
+                graph2.dropIndex(ElementType.VERTEX, "a", "key1");
+                fail("Index should not be dropped while building");
+            } catch (HBaseGraphException e) {
+                assertEquals(State.BUILDING, graph2.getIndexMetadataModel().index(indexKey).state());
+            }
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testDropIndexTwice() {
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph")
+                .setSchemaStateChangeDelaySecs(3600), graph.connection());
+        try {
+            graph2.createIndex(ElementType.VERTEX, "a", "key1", false, false);
+            IndexMetadata.Key indexKey = new IndexMetadata.Key(ElementType.VERTEX, "a", "key1");
+            graph2.dropIndex(ElementType.VERTEX, "a", "key1");
+            assertEquals(State.INACTIVE, graph2.getIndexMetadataModel().index(indexKey).state());
+            // a checkpoint of the purge that is under way
+            Table metadata = graph2.connection().getTable(
+                    HBaseGraphUtils.getTableName(graph2.configuration(), Constants.INDEX_METADATA));
+            Mutators.write(metadata, new IndexProgressWriter(graph2, indexKey, Constants.PURGE_PROGRESS_BYTES, 0, null));
+            try {
+                graph2.dropIndex(ElementType.VERTEX, "a", "key1");
+                fail("Index should not be dropped again while being dropped");
+            } catch (HBaseGraphException e) {
+                assertEquals(State.INACTIVE, graph2.getIndexMetadataModel().index(indexKey).state());
+                assertEquals(1, graph2.getIndexMetadataModel().purgeProgress(indexKey).size());
+            }
+        } finally {
+            graph2.close();
+        }
+    }
+
+    private static void awaitDropped(HBaseGraph graph, ElementType type, String label, String propertyKey) throws InterruptedException {
+        IndexMetadata.Key indexKey = new IndexMetadata.Key(type, label, propertyKey);
+        for (int i = 0; i < 100 && graph.getIndexMetadataModel().index(indexKey).state() != State.DROPPED; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(State.DROPPED, graph.getIndexMetadataModel().index(indexKey).state());
+        assertEquals(0, graph.getIndexMetadataModel().indexProgress(indexKey).size());
+        assertEquals(0, graph.getIndexMetadataModel().purgeProgress(indexKey).size());
+    }
+
+    private static int bucket(Object id) {
+        return ValueUtils.getSaltingByte(ValueUtils.serialize(id)) & 0xff;
+    }
+
+    private static void awaitIndex(HBaseGraph graph, ElementType type, String label, String propertyKey) throws InterruptedException {
+        for (int i = 0; i < 100 && !graph.hasIndex(OperationType.READ, type, label, propertyKey); i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(true, graph.hasIndex(OperationType.READ, type, label, propertyKey));
+    }
+
     @Test
     public void testVertexIndexRange() {
         assertEquals(0, count(graph.vertices()));
@@ -315,6 +570,64 @@ public class HBaseIndexTest extends HBaseGraphTest {
         assertEquals(0, count(it));
     }
 
+    @Test
+    public void testSetProperties() {
+        assertEquals(0, count(graph.vertices()));
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        graph.createCompositeIndex(ElementType.VERTEX, "a", Arrays.asList("key2", "key3"));
+        graph.createIndex(ElementType.EDGE, "b", "key1");
+        HBaseVertex v = (HBaseVertex) graph.addVertex(T.id, id(10), T.label, "a", "key1", 11, "key2", 0);
+        HBaseVertex v11 = (HBaseVertex) graph.addVertex(T.id, id(11));
+        HBaseEdge e = (HBaseEdge) v.addEdge("b", v11, "key1", 11);
+
+        v.setProperties(ImmutableMap.of("key1", 12, "key3", 3, "key4", 4));
+        assertEquals(0, count(graph.allVertices("a", "key1", 11)));
+        assertEquals(1, count(graph.allVertices("a", "key1", 12)));
+        assertEquals(1, count(graph.allVertices("a", Arrays.asList("key2", "key3"), Arrays.asList(0, 3))));
+
+        v.setProperties(ImmutableMap.of("key1", 12, "key2", 2));
+        assertEquals(1, count(graph.allVertices("a", "key1", 12)));
+        assertEquals(0, count(graph.allVertices("a", Arrays.asList("key2", "key3"), Arrays.asList(0, 3))));
+        assertEquals(1, count(graph.allVertices("a", Arrays.asList("key2", "key3"), Arrays.asList(2, 3))));
+
+        Vertex v2 = graph.vertex(id(10));
+        assertEquals(12, v2.<Integer>value("key1").intValue());
+        assertEquals(4, v2.<Integer>value("key4").intValue());
+
+        e.setProperties(ImmutableMap.of("key1", 12, "key2", 2));
+        assertEquals(0, count(v.edges(Direction.OUT, "b", "key1", 11)));
+        assertEquals(1, count(v.edges(Direction.OUT, "b", "key1", 12)));
+        assertEquals(2, graph.edge(e.id()).<Integer>value("key2").intValue());
+    }
+
+    @Test
+    public void testGremlinEdgeIndex() {
+        assertEquals(0, count(graph.vertices()));
+
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        // not indexed, but without a schema the values are compared on the client after a scan of the edges of v0
+        v0.addEdge("b", graph.addVertex(T.id, id(10)), "key1", 2);
+        graph.createIndex(ElementType.EDGE, "b", "key1");
+        for (int i = 1; i <= 5; i++) {
+            v0.addEdge("b", graph.addVertex(T.id, id(i)), "key1", i, "key2", i % 2);
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(2, count(g.V(id(0)).outE("b").has("key1", 2)));
+        assertEquals(2, count(g.V(id(0)).outE("b").has("key1", 2).inV()));
+        assertEquals(3, count(g.V(id(0)).outE("b").has("key1", P.between(2, 4))));
+        assertEquals(1, count(g.V(id(0)).outE("b").has("key1", P.between(2, 4)).has("key2", 1).inV()));
+        assertEquals(3, count(g.V(id(0)).bothE("b").has("key1", P.inside(1, 4))));
+        assertEquals(1, count(g.V(id(3)).inE("b").has("key1", 3).outV()));
+        assertEquals(3, count(g.V(id(0)).outE("b").has("key2", 1)));
+        assertEquals(3, g.V(id(0)).outE("b").has("key1", P.inside(1, 4)).inV().path().next().size());
+
+        // numbers of another type are compared by value
+        assertEquals(2, count(g.V(id(0)).outE("b").has("key1", 2L)));
+        assertEquals(3, count(g.V(id(0)).outE("b").has("key1", P.gt(2.5))));
+        assertEquals(2L, (long) g.V(id(0)).outE("b").has("key1", 2L).count().next());
+    }
+
     @Test
     public void testGremlinVertexIndex() {
         assertEquals(0, count(graph.vertices()));
@@ -332,6 +645,299 @@ public class HBaseIndexTest extends HBaseGraphTest {
         assertEquals(1, count(it));
     }
 
+    @Test
+    public void testGremlinVertexIndexRange() {
+        assertEquals(0, count(graph.vertices()));
+
+        // not indexed, but without a schema the values are compared on the client after a label scan
+        graph.addVertex(T.id, id(10), T.label, "a", "key1", 3);
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        for (int i = 0; i < 6; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i);
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(4, count(g.V().has("a", "key1", P.between(1, 4))));
+        assertEquals(3, count(g.V().has("a", "key1", P.inside(1, 4))));
+        assertEquals(2, count(g.V().has("a", "key1", P.gte(4))));
+        assertEquals(3, count(g.V().has("a", "key1", P.lt(3))));
+        assertEquals(2, count(g.V().has("a", "key1", P.gt(0)).has("key1", P.lte(2))));
+        assertEquals(4, count(g.V().has("a", "key1", P.within(1, 3, 5, 5, 7))));
+        assertEquals(7, count(g.V().hasLabel("a")));
+
+        // numbers of another type are compared by value
+        assertEquals(2, count(g.V().has("a", "key1", P.gt(3L))));
+        assertEquals(7, count(g.V().has("a", "key1", P.lt(1000L))));
+        assertEquals(4, count(g.V().has("a", "key1", P.gt(2.5))));
+        assertEquals(3, count(g.V().has("a", "key1", P.within(1L, 3L))));
+    }
+
+    @Test
+    public void testCompositeVertexIndex() {
+        assertEquals(0, count(graph.vertices()));
+        graph.createCompositeIndex(ElementType.VERTEX, "a", Arrays.asList("key1", "key2"));
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i % 2, "key2", i);
+        }
+        graph.addVertex(T.id, id(10), T.label, "a", "key1", 0);
+        graph.addVertex(T.id, id(11), T.label, "b", "key1", 0, "key2", 0);
+
+        Iterator<Vertex> it = graph.allVertices("a", Arrays.asList("key1", "key2"), Arrays.asList(0, 4));
+        assertEquals(id(4), it.next().id());
+        it = graph.allVertices("a", Arrays.asList("key1", "key2"), Collections.singletonList(0));
+        assertEquals(5, count(it));
+        it = graph.allVertices("a", Arrays.asList("key1", "key2"), Collections.singletonList(1), 3, 8);
+        assertEquals(3, count(it));
+        it = graph.allVertices("a", Arrays.asList("key1", "key2"), Collections.emptyList(), 1, null);
+        assertEquals(5, count(it));
+
+        Vertex v = graph.vertex(id(4));
+        v.property("key2", 14);
+        it = graph.allVertices("a", Arrays.asList("key1", "key2"), Arrays.asList(0, 4));
+        assertEquals(0, count(it));
+        it = graph.allVertices("a", Arrays.asList("key1", "key2"), Arrays.asList(0, 14));
+        assertEquals(1, count(it));
+
+        v.property("key1").remove();
+        it = graph.allVertices("a", Arrays.asList("key1", "key2"), Arrays.asList(0, 14));
+        assertEquals(0, count(it));
+        it = graph.allVertices("a", Arrays.asList("key1", "key2"), Collections.singletonList(0));
+        assertEquals(4, count(it));
+    }
+
+    @Test
+    public void testGremlinCompositeVertexIndex() {
+        assertEquals(0, count(graph.vertices()));
+        graph.createCompositeIndex(ElementType.VERTEX, "a", Arrays.asList("key1", "key2"));
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i % 2, "key2", i);
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(1, count(g.V().has("a", "key1", 0).has("key2", 6)));
+        assertEquals(2, count(g.V().has("a", "key1", 1).has("key2", P.gt(3)).has("key2", P.lt(8))));
+    }
+
+    @Test
+    public void testVertexLabelIndex() {
+        assertEquals(0, count(graph.vertices()));
+
+        graph.createLabelIndex(ElementType.VERTEX, "a");
+        graph.addVertex(T.id, id(0), T.label, "a", "key1", 0);
+        graph.addVertex(T.id, id(1), T.label, "a", "key1", 1);
+        graph.addVertex(T.id, id(2), T.label, "b", "key1", 2);
+        Vertex v = graph.addVertex(T.id, id(3), T.label, "a");
+
+        assertEquals(3, count(graph.allVertices("a")));
+        assertEquals(1, count(graph.allVertices("b")));
+
+        v.remove();
+        assertEquals(2, count(graph.allVertices("a")));
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(1, count(g.V().hasLabel("a").has("key1", 1)));
+    }
+
+    @Test
+    public void testEdgeLabelIndex() {
+        assertEquals(0, count(graph.vertices()));
+
+        graph.createLabelIndex(ElementType.EDGE, "b");
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        Vertex v1 = graph.addVertex(T.id, id(1));
+        v0.addEdge("b", v1, "key1", 1);
+        Edge edge = v0.addEdge("b", v1, "key1", 2);
+        v1.addEdge("b", v0, "key1", 3);
+        v1.addEdge("c", v0, "key1", 4);
+
+        assertEquals(3, count(graph.allEdges("b")));
+        assertEquals(1, count(graph.allEdges("c")));
+
+        edge.remove();
+        assertEquals(2, count(graph.allEdges("b")));
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(1, count(g.E().hasLabel("b").has("key1", 3)));
+        assertEquals(id(1), g.E().hasLabel("b").has("key1", 3).next().outVertex().id());
+    }
+
+    @Test
+    public void testVertexRemovalRemovesEdgeIndices() throws Exception {
+        assertEquals(0, count(graph.vertices()));
+
+        graph.createLabelIndex(ElementType.EDGE, "b");
+        graph.createIndex(ElementType.EDGE, "b", "key1");
+        graph.createIndex(ElementType.EDGE, "c", "key1", false, false, true);
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        Vertex v1 = graph.addVertex(T.id, id(1));
+        for (int i = 0; i < 5; i++) {
+            v0.addEdge("b", v1, "key1", i);
+        }
+        v1.addEdge("c", v0, "key1", 1);
+        v0.addEdge("b", v0, "key1", 1);
+        v1.addEdge("b", v1, "key1", 1);
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph").setEdgeRemoveBatchSize(2), graph.connection());
+        try {
+            graph2.vertex(id(0)).remove();
+        } finally {
+            graph2.close();
+        }
+
+        // only the rows of the remaining self-loop on v1 are left
+        assertEquals(4, count(graph.getEdgeIndexModel().getTable().getScanner(new Scan())));
+        assertEquals(1, count(graph.getEdgeGlobalIndexModel().getTable().getScanner(new Scan())));
+        assertEquals(1, count(graph.edges()));
+        assertEquals(1, count(graph.allEdges("b")));
+        assertEquals(0, count(graph.allEdges("c", "key1", 1)));
+        assertEquals(1, count(((HBaseVertex) v1).edges(Direction.BOTH, "b", "key1", 1)));
+        assertEquals(0, count(((HBaseVertex) v1).edges(Direction.OUT, "b", "key1", 0)));
+    }
+
+    @Test
+    public void testStaleIndexSweeper() throws Exception {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        for (int i = 0; i < 5; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", 1);
+        }
+        ((HBaseVertex) graph.vertex(id(0))).deleteFromModel();
+        ((HBaseVertex) graph.vertex(id(1))).deleteFromModel();
+
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph").setLazyLoading(false), graph.connection());
+        try {
+            assertEquals(3, count(graph2.allVertices("a", "key1", 1)));
+            StaleIndexSweeper sweeper = graph2.getStaleIndexSweeper();
+            for (int i = 0; i < 100 && sweeper.getDeletedCount() < 2; i++) {
+                Thread.sleep(100);
+            }
+            assertEquals(2, sweeper.getQueuedCount());
+            assertEquals(2, sweeper.getDeletedCount());
+            assertEquals(3, count(graph.getVertexIndexModel().getTable().getScanner(new Scan())));
+        } finally {
+            graph2.close();
+        }
+
+        // leave a stale index by deleting a vertex and changing a property behind the index's back
+        ((HBaseVertex) graph.vertex(id(2))).deleteFromModel();
+        Mutators.write(graph.getVertexModel().getTable(),
+                new PropertyWriter(graph, graph.vertex(id(3)), "key1", 2));
+        StaleIndexSweeper sweeper = graph.getStaleIndexSweeper();
+        sweeper.sweep();
+        assertEquals(3, sweeper.getScannedCount());
+        assertEquals(2, sweeper.getDeletedCount());
+        assertEquals(1, count(graph.getVertexIndexModel().getTable().getScanner(new Scan())));
+        assertEquals(1, count(graph.allVertices("a", "key1", 1)));
+    }
+
+    @Test
+    public void testStaleIndexSweeperIgnoresCache() {
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        HBaseGraph graph2 = new HBaseGraph(generateGraphConfig("testgraph")
+                .setElementCacheMaxSize(1000)
+                .setLazyLoading(false), graph.connection());
+        try {
+            Vertex v = graph2.addVertex(T.id, id(0), T.label, "a", "key1", 1);
+            // changed by another client, so the vertex cached by graph2 is stale
+            graph.vertex(id(0)).property("key1", 2);
+
+            StaleIndexSweeper sweeper = graph2.getStaleIndexSweeper();
+            sweeper.sweep();
+            assertEquals(1, sweeper.getScannedCount());
+            assertEquals(0, sweeper.getDeletedCount());
+            assertEquals(1, count(graph.allVertices("a", "key1", 2)));
+            assertEquals(1, v.<Integer>value("key1").intValue());
+        } finally {
+            graph2.close();
+        }
+    }
+
+    @Test
+    public void testGlobalEdgeIndex() {
+        assertEquals(0, count(graph.vertices()));
+
+        graph.createIndex(ElementType.EDGE, "b", "key1", false, false, true);
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        Vertex v1 = graph.addVertex(T.id, id(1));
+        Vertex v2 = graph.addVertex(T.id, id(2));
+        v0.addEdge("b", v1, "key1", 1);
+        Edge edge = v0.addEdge("b", v2, "key1", 2);
+        v1.addEdge("b", v2, "key1", 2);
+        v2.addEdge("b", v0, "key1", 3);
+        v2.addEdge("c", v0, "key1", 2);
+
+        assertEquals(2, count(graph.allEdges("b", "key1", 2)));
+        assertEquals(3, count(graph.allEdges("b", "key1", 2, 4)));
+        // not written to the per-vertex edge index
+        assertEquals(1, count(((HBaseVertex) v0).edges(Direction.OUT, "b", "key1", 2)));
+
+        edge.property("key1", 4);
+        assertEquals(1, count(graph.allEdges("b", "key1", 2)));
+        assertEquals(1, count(graph.allEdges("b", "key1", 4)));
+
+        edge.remove();
+        assertEquals(0, count(graph.allEdges("b", "key1", 4)));
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(1, count(g.E().hasLabel("b").has("key1", 2)));
+        assertEquals(2, count(g.E().has("key1", 2)));
+    }
+
+    @Test
+    public void testGremlinEdgeLookup() {
+        assertEquals(0, count(graph.vertices()));
+
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        Vertex v1 = graph.addVertex(T.id, id(1));
+        // not indexed, so only found by a scan
+        v0.addEdge("b", v1, "key1", 3, "key2", "x");
+        graph.createIndex(ElementType.EDGE, "b", "key1", false, false, true);
+        for (int i = 0; i < 6; i++) {
+            v0.addEdge("b", v1, "key1", i, "key2", i % 2 == 0 ? "x" : "y");
+            v1.addEdge("c", v0, "key1", i, "key2", i % 2 == 0 ? "x" : "y");
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(1, count(g.E().hasLabel("b").has("key1", 3)));
+        assertEquals(3, count(g.E().hasLabel("b").has("key1", P.within(1, 3, 3, 5))));
+        assertEquals(2, count(g.E().hasLabel("b").has("key1", P.between(1, 3))));
+        assertEquals(4, count(g.E().hasLabel("b").has("key2", "x")));
+        assertEquals(2, count(g.E().hasLabel("b").has("key2", "x").has("key1", P.lt(3))));
+        assertEquals(3, count(g.E().hasLabel("c").has("key1", P.inside(0, 4))));
+        assertEquals(7, count(g.E().has("key2", "x")));
+        assertEquals(4, count(g.E().has("key2", "y").has("key1", P.gt(1))));
+    }
+
+    @Test
+    public void testGremlinEdgeLookupComparesByValue() {
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        Vertex v1 = graph.addVertex(T.id, id(1));
+        v0.addEdge("b", v1, "weight", 1L);
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(1, count(g.E().hasLabel("b").has("weight", 1)));
+        assertEquals(1, count(g.E().hasLabel("b").has("weight", P.between(0, 5))));
+        assertEquals(1, count(g.E().has("weight", 1)));
+    }
+
+    @Test
+    public void testUniqueGlobalEdgeIndex() {
+        assertEquals(0, count(graph.vertices()));
+
+        graph.createIndex(ElementType.EDGE, "b", "key1", true, false, true);
+        Vertex v0 = graph.addVertex(T.id, id(0));
+        Vertex v1 = graph.addVertex(T.id, id(1));
+        Vertex v2 = graph.addVertex(T.id, id(2));
+        v0.addEdge("b", v1, T.id, id(10), "key1", 1);
+
+        try {
+            v2.addEdge("b", v1, T.id, id(11), "key1", 1);
+            fail("should reject non-unique key");
+        } catch (HBaseGraphNotUniqueException x) { }
+
+        Iterator<Edge> it = graph.allEdges("b", "key1", 1);
+        assertEquals(id(10), it.next().id());
+    }
+
     @Test
     public void testIndexExample() {
         assertEquals(0, count(graph.vertices()));
@@ -1,5 +1,7 @@
 package io.hgraphdb;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -7,6 +9,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Iterator;
 
 import static org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils.count;
@@ -175,4 +178,106 @@ public class HBaseSchemaTest extends HBaseGraphTest {
         Iterator<Edge> it = v1.edges(Direction.OUT, "knows");
         assertEquals(1, count(it));
     }
+
+    @Test
+    public void testGremlinEdgeIndex() {
+        assertEquals(0, count(graph.vertices()));
+
+        graph.createLabel(ElementType.VERTEX, "a", ValueType.STRING);
+        graph.createLabel(ElementType.EDGE, "b", ValueType.STRING, "key1", ValueType.INT, "key2", ValueType.INT);
+        graph.connectLabels("a", "b", "a");
+        Vertex v0 = graph.addVertex(T.id, id(0), T.label, "a");
+        // not indexed, so only found by a scan of the edges of v0
+        v0.addEdge("b", graph.addVertex(T.id, id(10), T.label, "a"), T.id, id(20), "key1", 2, "key2", 0);
+        graph.createIndex(ElementType.EDGE, "b", "key1");
+        for (int i = 1; i <= 5; i++) {
+            v0.addEdge("b", graph.addVertex(T.id, id(i), T.label, "a"), T.id, id(20 + i), "key1", i, "key2", i % 2);
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(1, count(g.V(id(0)).outE("b").has("key1", 2)));
+        assertEquals(id(2), g.V(id(0)).outE("b").has("key1", 2).inV().next().id());
+        assertEquals(2, count(g.V(id(0)).outE("b").has("key1", P.between(2, 4))));
+        assertEquals(1, count(g.V(id(0)).outE("b").has("key1", P.between(2, 4)).has("key2", 1).inV()));
+        assertEquals(2, count(g.V(id(0)).bothE("b").has("key1", P.inside(1, 4))));
+        assertEquals(1, count(g.V(id(3)).inE("b").has("key1", 3).outV()));
+        assertEquals(1L, (long) g.V(id(0)).outE("b").has("key1", 2).count().next());
+
+        // numbers of another type than the stored one are compared by value after a scan of the edges
+        assertEquals(2, count(g.V(id(0)).outE("b").has("key1", 2L)));
+        assertEquals(3, count(g.V(id(0)).outE("b").has("key1", P.between(2L, 4L))));
+        assertEquals(3, count(g.V(id(0)).outE("b").has("key1", P.gt(2.5))));
+        assertEquals(2L, (long) g.V(id(0)).outE("b").has("key1", 2L).count().next());
+    }
+
+    @Test
+    public void testGremlinVertexIndexRange() {
+        assertEquals(0, count(graph.vertices()));
+
+        graph.createLabel(ElementType.VERTEX, "a", ValueType.STRING, "key1", ValueType.INT);
+        // not indexed, so only found by a label scan
+        graph.addVertex(T.id, id(10), T.label, "a", "key1", 3);
+        graph.createIndex(ElementType.VERTEX, "a", "key1");
+        for (int i = 0; i < 6; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i);
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(3, count(g.V().has("a", "key1", P.between(1, 4))));
+        assertEquals(2, count(g.V().has("a", "key1", P.inside(1, 4))));
+        assertEquals(2, count(g.V().has("a", "key1", P.gte(4))));
+        assertEquals(3, count(g.V().has("a", "key1", P.lt(3))));
+        assertEquals(2, count(g.V().has("a", "key1", P.gt(0)).has("key1", P.lte(2))));
+        assertEquals(3, count(g.V().has("a", "key1", P.within(1, 3, 5, 5, 7))));
+        assertEquals(7, count(g.V().hasLabel("a")));
+
+        // numbers of another type than the stored one are compared by value after a label scan
+        assertEquals(2, count(g.V().has("a", "key1", P.gt(3L))));
+        assertEquals(7, count(g.V().has("a", "key1", P.lt(1000L))));
+        assertEquals(4, count(g.V().has("a", "key1", P.gt(2.5))));
+        assertEquals(3, count(g.V().has("a", "key1", P.within(1L, 3L))));
+    }
+
+    @Test
+    public void testGremlinCompositeVertexIndexComparesByValue() {
+        assertEquals(0, count(graph.vertices()));
+
+        graph.createLabel(ElementType.VERTEX, "a", ValueType.STRING, "key1", ValueType.INT, "key2", ValueType.INT);
+        graph.createCompositeIndex(ElementType.VERTEX, "a", Arrays.asList("key1", "key2"));
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.id, id(i), T.label, "a", "key1", i % 2, "key2", i);
+        }
+
+        GraphTraversalSource g = graph.traversal();
+        assertEquals(1, count(g.V().has("a", "key1", 0).has("key2", 6)));
+        assertEquals(1, count(g.V().has("a", "key1", 0L).has("key2", 6L)));
+        assertEquals(1, count(g.V().has("a", "key1", 0).has("key2", 6L)));
+        assertEquals(2, count(g.V().has("a", "key1", 1).has("key2", P.gt(3)).has("key2", P.lt(8))));
+        assertEquals(2, count(g.V().has("a", "key1", 1).has("key2", P.gt(3L)).has("key2", P.lt(8L))));
+        assertEquals(2, count(g.V().has("a", "key1", 1).has("key2", P.gt(2.5)).has("key2", P.lt(8))));
+    }
+
+    @Test
+    public void testGlobalEdgeIndexWithoutLabel() {
+        assertEquals(0, count(graph.vertices()));
+
+        graph.createLabel(ElementType.VERTEX, "a", ValueType.STRING);
+        graph.createLabel(ElementType.EDGE, "pays", ValueType.STRING, "txnId", ValueType.LONG);
+        graph.createLabel(ElementType.EDGE, "refunds", ValueType.STRING, "txnId", ValueType.LONG);
+        graph.connectLabels("a", "pays", "a");
+        graph.connectLabels("a", "refunds", "a");
+        graph.createIndex(ElementType.EDGE, "pays", "txnId", true, false, true);
+        graph.createIndex(ElementType.EDGE, "refunds", "txnId", true, false, true);
+
+        Vertex v1 = graph.addVertex(T.id, id(10), T.label, "a");
+        Vertex v2 = graph.addVertex(T.id, id(11), T.label, "a");
+        graph.addEdge(v1, v2, "pays", T.id, id(20), "txnId", 1L);
+        graph.addEdge(v1, v2, "pays", T.id, id(21), "txnId", 2L);
+        graph.addEdge(v2, v1, "refunds", T.id, id(22), "txnId", 1L);
+
+        Iterator<Edge> it = graph.allEdges("txnId", 1L);
+        assertEquals(2, count(it));
+        it = graph.traversal().E().has("txnId", 2L);
+        assertEquals(id(21), it.next().id());
+    }
 }